@@ -0,0 +1,14 @@
+package ru.practicum.benchmark;
+
+public class BenchmarkContexts {
+    public static final String[] QUIET_ARGS = {
+        "--spring.jpa.properties.hibernate.show_sql=false",
+        "--logging.level.root=WARN",
+        "--logging.level.org.springframework.transaction.interceptor=WARN",
+        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;OPTIMIZE_REUSE_RESULTS=FALSE"
+    };
+
+    private BenchmarkContexts() {
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.EndpointHitDto;
+import ru.practicum.ExploreWithMeStatsService;
+import ru.practicum.StatsService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HitIngestionBenchmark {
+    private static final int HITS_PER_INVOCATION = 100;
+
+    private ConfigurableApplicationContext context;
+    private StatsService statsService;
+    private List<EndpointHitDto> hits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ExploreWithMeStatsService.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .run(BenchmarkContexts.QUIET_ARGS);
+        statsService = context.getBean(StatsService.class);
+        hits = new ArrayList<>(HITS_PER_INVOCATION);
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+        for (int i = 0; i < HITS_PER_INVOCATION; i++) {
+            hits.add(new EndpointHitDto("main-service", "/events/" + (i % 10), "10.0.0." + (i % 250),
+                start.plusSeconds(i)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HITS_PER_INVOCATION)
+    public void singleRowInserts() {
+        for (EndpointHitDto hit : hits) {
+            statsService.saveHit(hit);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HITS_PER_INVOCATION)
+    public void batchInsert() {
+        statsService.saveHits(hits);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.EndpointHitDto;
+import ru.practicum.ExploreWithMeStatsService;
+import ru.practicum.StatsService;
+import ru.practicum.ViewStats;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniqueStatsBenchmark {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int DAYS = 30;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"200000"})
+    private int hitsCount;
+
+    private ConfigurableApplicationContext context;
+    private StatsService statsService;
+    private String start;
+    private String end;
+    private String[] uris;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ExploreWithMeStatsService.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .run(BenchmarkContexts.QUIET_ARGS);
+        statsService = context.getBean(StatsService.class);
+        LocalDateTime origin = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+        Random random = new Random(42);
+        List<EndpointHitDto> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < hitsCount; i++) {
+            batch.add(new EndpointHitDto("main-service", "/events/" + random.nextInt(20),
+                "10.0." + random.nextInt(40) + "." + random.nextInt(250),
+                origin.plusSeconds(random.nextInt(DAYS * 24 * 60 * 60))));
+            if (batch.size() == BATCH_SIZE) {
+                statsService.saveHits(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            statsService.saveHits(batch);
+        }
+        start = origin.plusMinutes(37).format(FORMATTER);
+        end = origin.plusDays(DAYS - 1).plusHours(5).format(FORMATTER);
+        uris = new String[]{"/events/1", "/events/2", "/events/3"};
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ViewStats> exactUniqueAll() {
+        return statsService.getStats(start, end, null, true);
+    }
+
+    @Benchmark
+    public List<ViewStats> approxUniqueAll() {
+        return statsService.getApproxUniqueStats(start, end, null);
+    }
+
+    @Benchmark
+    public List<ViewStats> exactUniqueByUris() {
+        return statsService.getStats(start, end, uris, true);
+    }
+
+    @Benchmark
+    public List<ViewStats> approxUniqueByUris() {
+        return statsService.getApproxUniqueStats(start, end, uris);
+    }
+}
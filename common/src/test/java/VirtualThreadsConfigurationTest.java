@@ -0,0 +1,40 @@
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import ru.practicum.VirtualThreads;
+import ru.practicum.VirtualThreadsConfiguration;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+public class VirtualThreadsConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(VirtualThreadsConfiguration.class);
+
+    @Test
+    public void shouldNotCustomizeTomcatWhenSwitchIsOffCase() {
+        contextRunner.run(context -> Assertions.assertTrue(context.getBeansOfType(TomcatProtocolHandlerCustomizer.class)
+            .isEmpty()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldShutDownVirtualThreadExecutorOnContextCloseCase() {
+        ProtocolHandler protocolHandler = Mockito.mock(ProtocolHandler.class);
+        ArgumentCaptor<Executor> executorCaptor = ArgumentCaptor.forClass(Executor.class);
+
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+            .run(context -> context.getBean(TomcatProtocolHandlerCustomizer.class).customize(protocolHandler));
+
+        if (VirtualThreads.isSupported()) {
+            Mockito.verify(protocolHandler).setExecutor(executorCaptor.capture());
+            Assertions.assertTrue(((ExecutorService) executorCaptor.getValue()).isShutdown());
+        } else {
+            Mockito.verifyNoInteractions(protocolHandler);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.VirtualThreads;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class VirtualThreadsTest {
+    private static final boolean VIRTUAL_THREADS_RUNTIME = Runtime.version().feature() >= 21;
+
+    @Test
+    public void shouldDetectVirtualThreadsSupportCase() {
+        Assertions.assertEquals(VIRTUAL_THREADS_RUNTIME, VirtualThreads.isSupported());
+    }
+
+    @Test
+    public void shouldRunTaskOnVirtualThreadWhenSupportedCase() throws Exception {
+        Optional<ExecutorService> executor = VirtualThreads.newThreadPerTaskExecutor("test-virtual-");
+
+        Assertions.assertEquals(VIRTUAL_THREADS_RUNTIME, executor.isPresent());
+        if (executor.isPresent()) {
+            String threadName = executor.get().submit(() -> Thread.currentThread().getName())
+                .get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals("test-virtual-0", threadName);
+            executor.get().shutdown();
+        }
+    }
+}
@@ -5,5 +5,34 @@ CREATE TABLE IF NOT EXISTS hits
     uri       VARCHAR(30)                             NOT NULL,
     ip        VARCHAR(15)                             NOT NULL,
     timestamp TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
-    CONSTRAINT pk_hits PRIMARY KEY (id)
-);
\ No newline at end of file
+    CONSTRAINT pk_hits PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE IF NOT EXISTS hits_default PARTITION OF hits DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_hits_uri_timestamp ON hits (uri, timestamp) INCLUDE (app, ip);
+CREATE INDEX IF NOT EXISTS idx_hits_timestamp ON hits (timestamp) INCLUDE (app, uri, ip);
+
+CREATE TABLE IF NOT EXISTS hit_rollups
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app          VARCHAR(30)                             NOT NULL,
+    uri          VARCHAR(30)                             NOT NULL,
+    granularity  VARCHAR(6)                              NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    hits         BIGINT                                  NOT NULL,
+    CONSTRAINT pk_hit_rollups PRIMARY KEY (id),
+    CONSTRAINT uq_hit_rollups UNIQUE (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS hit_sketches
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app          VARCHAR(30)                             NOT NULL,
+    uri          VARCHAR(30)                             NOT NULL,
+    granularity  VARCHAR(6)                              NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    registers    BYTEA                                   NOT NULL,
+    CONSTRAINT pk_hit_sketches PRIMARY KEY (id),
+    CONSTRAINT uq_hit_sketches UNIQUE (granularity, bucket_start, app, uri)
+);
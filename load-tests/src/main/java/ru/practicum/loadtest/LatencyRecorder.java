@@ -0,0 +1,85 @@
+package ru.practicum.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class LatencyRecorder {
+    private final Map<String, EndpointLatencies> endpoints = new TreeMap<>();
+
+    public void record(String endpoint, int status, long nanos) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointLatencies()).add(status, nanos);
+    }
+
+    public void merge(LatencyRecorder other) {
+        other.endpoints.forEach((endpoint, latencies) -> endpoints.computeIfAbsent(endpoint,
+            key -> new EndpointLatencies()).addAll(latencies));
+    }
+
+    public Map<String, EndpointLatencies> getEndpoints() {
+        return endpoints;
+    }
+
+    public EndpointLatencies total() {
+        EndpointLatencies total = new EndpointLatencies();
+        endpoints.values().forEach(total::addAll);
+        return total;
+    }
+
+    public static class EndpointLatencies {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int clientErrors;
+        private int errors;
+        private boolean sorted;
+
+        // status 0 stands for a request that failed without an answer
+        void add(int status, long latency) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            sorted = false;
+            if (status >= 400 && status < 500) {
+                clientErrors++;
+            } else if (status == 0 || status >= 500) {
+                errors++;
+            }
+        }
+
+        void addAll(EndpointLatencies other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            clientErrors += other.clientErrors;
+            errors += other.errors;
+            sorted = false;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getClientErrors() {
+            return clientErrors;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(nanos, 0, count);
+                sorted = true;
+            }
+            int index = Math.max((int) Math.ceil(percentile / 100 * count) - 1, 0);
+            return nanos[index] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+public class LoadTest {
+    private static final List<String> QUIET_ARGS = List.of(
+        "--spring.profiles.active=test",
+        "--spring.jpa.properties.hibernate.show_sql=false",
+        "--logging.level.root=WARN",
+        "--logging.level.ru.practicum=WARN",
+        "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+        "--logging.level.org.springframework.transaction.interceptor=WARN",
+        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        ApiClient mainClient = new ApiClient(httpClient, settings.getMainUrl());
+        ApiClient statsClient = new ApiClient(httpClient, settings.getStatsUrl());
+        List<String> statsArgs = new ArrayList<>(QUIET_ARGS);
+        statsArgs.add("--server.port=" + settings.getStatsPort());
+        List<String> mainArgs = new ArrayList<>(QUIET_ARGS);
+        mainArgs.add("--server.port=" + settings.getMainPort());
+        mainArgs.add("--S_HOST=localhost");
+        mainArgs.add("--S_PORT=" + settings.getStatsPort());
+        try (ServiceProcess stats = ServiceProcess.start("stats-service", settings.getStatsJar(),
+            settings.getServiceJvmArgs(), statsArgs, settings.getOutputDir().resolve("stats-service.log"));
+             ServiceProcess main = ServiceProcess.start("main-service", settings.getMainJar(),
+                 settings.getServiceJvmArgs(), mainArgs, settings.getOutputDir().resolve("main-service.log"))) {
+            stats.awaitReady(statsClient, "/actuator/health", settings.getStartupTimeout());
+            main.awaitReady(mainClient, "/actuator/health", settings.getStartupTimeout());
+            SeedData data = new Seeder(mainClient, statsClient, settings).seed();
+            TrafficMix mix = new TrafficMix(data);
+            log.info("Warming up for {} s", settings.getWarmup().toSeconds());
+            run(mainClient, mix, settings, settings.getWarmup(), settings.getSeed());
+            log.info("Running {} threads for {} s", settings.getThreads(), settings.getDuration().toSeconds());
+            LatencyRecorder recorder = run(mainClient, mix, settings, settings.getDuration(), settings.getSeed() + 1);
+            String report = report(recorder, settings.getDuration());
+            System.out.println(report);
+            Path reportFile = settings.getOutputDir().resolve("load-test-report.txt");
+            Files.writeString(reportFile, report);
+            log.info("Report is written to {}", reportFile.toAbsolutePath());
+        }
+    }
+
+    private static LatencyRecorder run(ApiClient client, TrafficMix mix, LoadTestSettings settings,
+                                       Duration duration, long seed) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<LatencyRecorder>> workers = new ArrayList<>(settings.getThreads());
+        for (int i = 0; i < settings.getThreads(); i++) {
+            Random random = new Random(seed * 31 + i);
+            workers.add(executor.submit(() -> drive(client, mix, random, deadline)));
+        }
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (Future<LatencyRecorder> worker : workers) {
+            recorder.merge(worker.get());
+        }
+        executor.shutdown();
+        return recorder;
+    }
+
+    private static LatencyRecorder drive(ApiClient client, TrafficMix mix, Random random, long deadline)
+        throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        while (System.nanoTime() < deadline) {
+            TrafficMix.Operation operation = mix.next(random);
+            TrafficMix.Call call = mix.call(operation, random);
+            long startedAt = System.nanoTime();
+            int status;
+            try {
+                status = client.send(call.getMethod(), call.getPath(), null).statusCode();
+            } catch (IOException exp) {
+                status = 0;
+            }
+            recorder.record(operation.getName(), status, System.nanoTime() - startedAt);
+        }
+        return recorder;
+    }
+
+    private static String report(LatencyRecorder recorder, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        StringBuilder report = new StringBuilder(String.format("%-40s %8s %9s %6s %6s %9s %9s %9s %9s%n",
+            "endpoint", "count", "req/s", "4xx", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, LatencyRecorder.EndpointLatencies> entry : recorder.getEndpoints().entrySet()) {
+            appendRow(report, entry.getKey(), entry.getValue(), seconds);
+        }
+        appendRow(report, "TOTAL", recorder.total(), seconds);
+        return report.toString();
+    }
+
+    private static void appendRow(StringBuilder report, String endpoint, LatencyRecorder.EndpointLatencies latencies,
+                                  double seconds) {
+        report.append(String.format("%-40s %8d %9.1f %6d %6d %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+            latencies.getCount(), latencies.getCount() / seconds, latencies.getClientErrors(), latencies.getErrors(),
+            latencies.percentileMillis(50), latencies.percentileMillis(90), latencies.percentileMillis(99),
+            latencies.percentileMillis(100)));
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Getter
+public class LoadTestSettings {
+    private final Path mainJar;
+    private final Path statsJar;
+    private final Path outputDir;
+    private final String serviceJvmArgs;
+    private final int mainPort;
+    private final int statsPort;
+    private final Duration startupTimeout;
+    private final int users;
+    private final int categories;
+    private final int events;
+    private final int requests;
+    private final int compilations;
+    private final int hits;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+
+    private LoadTestSettings() {
+        this.mainJar = Paths.get(System.getProperty("loadtest.main-jar",
+            "../main-service/target/main-service-0.0.1-SNAPSHOT-exec.jar"));
+        this.statsJar = Paths.get(System.getProperty("loadtest.stats-jar",
+            "../stats-service/service/target/service-0.0.1-SNAPSHOT-exec.jar"));
+        this.outputDir = Paths.get(System.getProperty("loadtest.output-dir", "target"));
+        this.serviceJvmArgs = System.getProperty("loadtest.service-jvm-args", "-Xmx512m");
+        this.mainPort = Integer.getInteger("loadtest.main-port", 18080);
+        this.statsPort = Integer.getInteger("loadtest.stats-port", 19090);
+        this.startupTimeout = Duration.ofSeconds(Long.getLong("loadtest.startup-timeout", 120));
+        this.users = Integer.getInteger("loadtest.users", 500);
+        this.categories = Integer.getInteger("loadtest.categories", 20);
+        this.events = Integer.getInteger("loadtest.events", 1000);
+        this.requests = Integer.getInteger("loadtest.requests", 3000);
+        this.compilations = Integer.getInteger("loadtest.compilations", 20);
+        this.hits = Integer.getInteger("loadtest.hits", 50000);
+        this.threads = Integer.getInteger("loadtest.threads", 16);
+        this.warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 15));
+        this.duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60));
+        this.seed = Long.getLong("loadtest.seed", 42L);
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings();
+    }
+
+    public String getMainUrl() {
+        return "http://localhost:" + mainPort;
+    }
+
+    public String getStatsUrl() {
+        return "http://localhost:" + statsPort;
+    }
+}
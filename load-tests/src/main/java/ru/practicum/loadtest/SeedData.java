@@ -0,0 +1,36 @@
+package ru.practicum.loadtest;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@Getter
+public class SeedData {
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final List<Long> publishedEventIds = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+    private final Map<Long, Long> initiatorByEvent = new HashMap<>();
+
+    public Long anyUser(Random random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    public Long anyCategory(Random random) {
+        return categoryIds.get(random.nextInt(categoryIds.size()));
+    }
+
+    public Long anyEvent(Random random) {
+        return eventIds.get(random.nextInt(eventIds.size()));
+    }
+
+    // a few events get most of the traffic, like on the real site
+    public Long popularEvent(Random random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return publishedEventIds.get((int) (skewed * publishedEventIds.size()));
+    }
+}
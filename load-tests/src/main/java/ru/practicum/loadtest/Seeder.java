@@ -0,0 +1,118 @@
+package ru.practicum.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.EndpointHitDto;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+@Slf4j
+public class Seeder {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int HITS_BATCH_SIZE = 1000;
+    private final ApiClient mainClient;
+    private final ApiClient statsClient;
+    private final LoadTestSettings settings;
+    private final Random random;
+
+    public Seeder(ApiClient mainClient, ApiClient statsClient, LoadTestSettings settings) {
+        this.mainClient = mainClient;
+        this.statsClient = statsClient;
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    public SeedData seed() throws IOException, InterruptedException {
+        long startedAt = System.nanoTime();
+        SeedData data = new SeedData();
+        for (int i = 0; i < settings.getCategories(); i++) {
+            data.getCategoryIds().add(mainClient.exchange("POST", "/admin/categories",
+                Map.of("name", "category" + i)).get("id").asLong());
+        }
+        for (int i = 0; i < settings.getUsers(); i++) {
+            data.getUserIds().add(mainClient.exchange("POST", "/admin/users",
+                Map.of("name", "user" + i, "email", "user" + i + "@mail.ru")).get("id").asLong());
+        }
+        seedEvents(data);
+        int requests = seedRequests(data);
+        seedCompilations(data);
+        seedHits(data);
+        log.info("Seeded {} categories, {} users, {} events ({} published), {} requests, {} compilations and {} " +
+                "hits in {} s", data.getCategoryIds().size(), data.getUserIds().size(), data.getEventIds().size(),
+            data.getPublishedEventIds().size(), requests, settings.getCompilations(), settings.getHits(),
+            (System.nanoTime() - startedAt) / 1_000_000_000L);
+        return data;
+    }
+
+    private void seedEvents(SeedData data) throws IOException, InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < settings.getEvents(); i++) {
+            Long initiator = data.anyUser(random);
+            Map<String, Object> event = new HashMap<>();
+            event.put("annotation", "Annotation of the load test event number " + i);
+            event.put("description", "Description of the load test event number " + i + ", long enough to be " +
+                "indexed and rendered like a real one");
+            event.put("title", "Event " + i);
+            event.put("category", data.anyCategory(random));
+            event.put("eventDate", now.plusDays(1 + random.nextInt(90)).plusHours(random.nextInt(24))
+                .format(FORMATTER));
+            event.put("location", Map.of("lat", 55.0f + random.nextFloat(), "lon", 37.0f + random.nextFloat()));
+            event.put("paid", random.nextBoolean());
+            event.put("participantLimit", random.nextInt(4) == 0 ? 0 : 10 + random.nextInt(90));
+            event.put("requestModeration", random.nextInt(3) == 0);
+            Long eventId = mainClient.exchange("POST", "/users/" + initiator + "/events", event).get("id")
+                .asLong();
+            data.getEventIds().add(eventId);
+            data.getInitiatorByEvent().put(eventId, initiator);
+            if (random.nextInt(10) != 0) {
+                mainClient.exchange("PATCH", "/admin/events/" + eventId, Map.of("stateAction", "PUBLISH_EVENT"));
+                data.getPublishedEventIds().add(eventId);
+            }
+        }
+    }
+
+    private int seedRequests(SeedData data) throws IOException, InterruptedException {
+        int created = 0;
+        for (int i = 0; i < settings.getRequests(); i++) {
+            Long eventId = data.popularEvent(random);
+            Long userId = data.anyUser(random);
+            if (userId.equals(data.getInitiatorByEvent().get(eventId))) {
+                continue;
+            }
+            HttpResponse<String> response = mainClient.send("POST", "/users/" + userId + "/requests?eventId=" +
+                eventId, null);
+            if (response.statusCode() == 201) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private void seedCompilations(SeedData data) throws IOException, InterruptedException {
+        for (int i = 0; i < settings.getCompilations(); i++) {
+            Set<Long> events = new LinkedHashSet<>();
+            for (int j = 0; j < 5 + random.nextInt(10); j++) {
+                events.add(data.popularEvent(random));
+            }
+            mainClient.exchange("POST", "/admin/compilations", Map.of("title", "Compilation " + i, "pinned",
+                i % 3 == 0, "events", events));
+        }
+    }
+
+    private void seedHits(SeedData data) throws IOException, InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        List<EndpointHitDto> batch = new ArrayList<>(HITS_BATCH_SIZE);
+        for (int i = 0; i < settings.getHits(); i++) {
+            batch.add(new EndpointHitDto("main-service", "/events/" + data.popularEvent(random),
+                "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256),
+                now.minusMinutes(random.nextInt(60 * 24 * 30)).withNano(0)));
+            if (batch.size() == HITS_BATCH_SIZE || i == settings.getHits() - 1) {
+                statsClient.exchange("POST", "/hits/batch", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ServiceProcess implements AutoCloseable {
+    private final String name;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String name, Process process, Path logFile) {
+        this.name = name;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    public static ServiceProcess start(String name, Path jar, String jvmArgs, List<String> args, Path logFile)
+        throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Jar of " + name + " was not found at " + jar.toAbsolutePath() +
+                ", run 'mvn install -DskipTests' first");
+        }
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.addAll(args);
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile())
+            .start();
+        log.info("Starting {}, output is written to {}", name, logFile.toAbsolutePath());
+        return new ServiceProcess(name, process, logFile);
+    }
+
+    public void awaitReady(ApiClient client, String healthPath, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " has exited with code " + process.exitValue() + ", see " +
+                    logFile.toAbsolutePath());
+            }
+            if (client.isUp(healthPath)) {
+                log.info("{} is up", name);
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " has not started in " + timeout.toSeconds() + " s, see " +
+            logFile.toAbsolutePath());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        log.info("{} is stopped", name);
+    }
+}
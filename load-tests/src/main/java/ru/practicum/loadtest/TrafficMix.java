@@ -0,0 +1,84 @@
+package ru.practicum.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TrafficMix {
+    private final SeedData data;
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    public TrafficMix(SeedData data) {
+        this.data = data;
+        // public
+        add("GET /events", 20, (random, seed) -> get("/events?sort=EVENT_DATE&size=10"));
+        add("GET /events?categories&onlyAvailable", 8, (random, seed) -> get("/events?categories=" +
+            seed.anyCategory(random) + "&paid=" + random.nextBoolean() + "&onlyAvailable=true&sort=VIEWS&size=10"));
+        add("GET /events/{id}", 22, (random, seed) -> get("/events/" + seed.popularEvent(random)));
+        add("GET /events?ids", 5, (random, seed) -> get("/events?ids=" + Stream.generate(() ->
+            seed.popularEvent(random)).limit(5).map(String::valueOf).collect(Collectors.joining(","))));
+        add("GET /categories", 5, (random, seed) -> get("/categories?size=20"));
+        add("GET /compilations", 5, (random, seed) -> get("/compilations?pinned=" + random.nextBoolean()));
+        add("GET /initiators", 5, (random, seed) -> get("/initiators?sort=" +
+            (random.nextBoolean() ? "MOST_POPULAR" : "MOST_INITIATIVE")));
+        // private
+        add("GET /users/{id}/events", 5, (random, seed) -> get("/users/" + seed.anyUser(random) + "/events"));
+        add("GET /users/{id}/requests", 5, (random, seed) -> get("/users/" + seed.anyUser(random) + "/requests"));
+        add("GET /users/{id}/events/{id}/requests", 4, (random, seed) -> {
+            Long eventId = seed.anyEvent(random);
+            return get("/users/" + seed.getInitiatorByEvent().get(eventId) + "/events/" + eventId + "/requests");
+        });
+        add("POST /users/{id}/requests", 6, (random, seed) -> new Call("POST", "/users/" + seed.anyUser(random) +
+            "/requests?eventId=" + seed.popularEvent(random)));
+        // admin
+        add("GET /admin/events", 4, (random, seed) -> get("/admin/events?states=PUBLISHED,PENDING&categories=" +
+            seed.anyCategory(random) + "&size=20"));
+        add("GET /admin/users", 2, (random, seed) -> get("/admin/users?size=20"));
+    }
+
+    public Operation next(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            point -= operation.weight;
+            if (point < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Traffic mix weights are inconsistent");
+    }
+
+    public Call call(Operation operation, Random random) {
+        return operation.call.apply(random, data);
+    }
+
+    private void add(String name, int weight, BiFunction<Random, SeedData, Call> call) {
+        operations.add(new Operation(name, weight, call));
+        totalWeight += weight;
+    }
+
+    private static Call get(String path) {
+        return new Call("GET", path);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Operation {
+        private final String name;
+        private final int weight;
+        private final BiFunction<Random, SeedData, Call> call;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Call {
+        private final String method;
+        private final String path;
+    }
+}
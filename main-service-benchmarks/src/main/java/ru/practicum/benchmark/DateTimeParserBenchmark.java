@@ -0,0 +1,34 @@
+package ru.practicum.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.DateTimeParser;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateTimeParserBenchmark {
+    private String text;
+    private LocalDateTime dateTime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = "2024-05-17 18:30:15";
+        dateTime = LocalDateTime.of(2024, 5, 17, 18, 30, 15);
+    }
+
+    @Benchmark
+    public LocalDateTime parseToDate() {
+        return DateTimeParser.parseToDate(text);
+    }
+
+    @Benchmark
+    public String parseToString() {
+        return DateTimeParser.parseToString(dateTime);
+    }
+}
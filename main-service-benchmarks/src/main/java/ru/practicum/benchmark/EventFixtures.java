@@ -0,0 +1,36 @@
+package ru.practicum.benchmark;
+
+import ru.practicum.entity.Category;
+import ru.practicum.entity.Event;
+import ru.practicum.entity.Location;
+import ru.practicum.entity.User;
+import ru.practicum.state.EventState;
+import ru.practicum.state.UserProfileState;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventFixtures {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2023, 1, 1, 12, 0, 0);
+
+    private EventFixtures() {
+    }
+
+    public static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Category category = new Category(id % 10 + 1, "category" + (id % 10));
+            User initiator = new User(id % 50 + 1, "initiator" + (id % 50), "initiator" + (id % 50) + "@mail.ru",
+                UserProfileState.PUBLIC);
+            Location location = new Location();
+            location.setLat(55.75f);
+            location.setLon(37.61f);
+            events.add(new Event(id, "Annotation of the benchmark event number " + id, category, CREATED,
+                "Description of the benchmark event number " + id + " that is long enough to look real",
+                CREATED.plusDays(id % 30 + 1), initiator, location, id % 2 == 0, (int) (id % 100),
+                CREATED.plusHours(1), true, EventState.PUBLISHED, "Event " + id, id % 20));
+        }
+        return events;
+    }
+}
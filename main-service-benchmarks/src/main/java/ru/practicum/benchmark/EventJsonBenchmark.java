@@ -0,0 +1,53 @@
+package ru.practicum.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.ViewStats;
+import ru.practicum.dto.output.EventFullDto;
+import ru.practicum.entity.Event;
+import ru.practicum.mapper.EventMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventJsonBenchmark {
+    private static final TypeReference<List<ViewStats>> VIEW_STATS_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "1000"})
+    private int eventsCount;
+
+    private ObjectMapper objectMapper;
+    private List<EventFullDto> events;
+    private String viewStatsJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Event> fixtures = EventFixtures.events(eventsCount);
+        events = EventMapper.toEventFullDtoList(fixtures);
+        viewStatsJson = objectMapper.writeValueAsString(fixtures.stream()
+            .map(event -> new ViewStats("main-service", "/events/" + event.getId(), event.getId() * 10))
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public String serializeEventFullDtoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(events);
+    }
+
+    @Benchmark
+    public List<ViewStats> deserializeViewStatsList() throws JsonProcessingException {
+        return objectMapper.readValue(viewStatsJson, VIEW_STATS_LIST);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.dto.output.EventFullDto;
+import ru.practicum.dto.output.EventShortDto;
+import ru.practicum.entity.Event;
+import ru.practicum.mapper.EventMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMapperBenchmark {
+    @Param({"10", "100", "1000"})
+    private int eventsCount;
+
+    private List<Event> events;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        events = EventFixtures.events(eventsCount);
+    }
+
+    @Benchmark
+    public List<EventShortDto> toEventShortDtoList() {
+        return EventMapper.toEventShortDtoList(events);
+    }
+
+    @Benchmark
+    public List<EventFullDto> toEventFullDtoList() {
+        return EventMapper.toEventFullDtoList(events);
+    }
+}
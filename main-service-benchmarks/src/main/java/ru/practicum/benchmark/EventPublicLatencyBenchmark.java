@@ -0,0 +1,127 @@
+package ru.practicum.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import ru.practicum.StatsClient;
+import ru.practicum.StatsClientProperties;
+import ru.practicum.dto.output.EventFullDto;
+import ru.practicum.entity.Event;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventViewRepository;
+import ru.practicum.service.CategoryService;
+import ru.practicum.service.EventService;
+import ru.practicum.service.EventViewsCache;
+import ru.practicum.service.ResilientStatsClient;
+import ru.practicum.service.UserService;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPublicLatencyBenchmark {
+    private static final byte[] STATS_RESPONSE = "[{\"app\":\"main-service\",\"uri\":\"/events/1\",\"hits\":10}]"
+        .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"5"})
+    private long databaseLatencyMs;
+
+    @Param({"5"})
+    private long statsLatencyMs;
+
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private StatsClient statsClient;
+    private ResilientStatsClient resilientStatsClient;
+    private EventViewsCache eventViewsCache;
+    private EventService eventService;
+    private HttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            sleep(statsLatencyMs);
+            boolean isStats = exchange.getRequestURI().getPath().equals("/stats");
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(isStats ? 200 : 201, isStats ? STATS_RESPONSE.length : -1);
+            try (OutputStream body = exchange.getResponseBody()) {
+                if (isStats) {
+                    body.write(STATS_RESPONSE);
+                }
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        statsClient = new StatsClient("localhost", String.valueOf(server.getAddress().getPort()),
+            new StatsClientProperties(), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        Clock clock = Clock.systemUTC();
+        resilientStatsClient = new ResilientStatsClient(statsClient, new SimpleMeterRegistry(), clock, 5,
+            Duration.ofSeconds(30), 1, 16, Duration.ofSeconds(5));
+        EventViewRepository eventViewRepository = Mockito.mock(EventViewRepository.class);
+        eventViewsCache = new EventViewsCache(resilientStatsClient, eventViewRepository, clock,
+            new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ofHours(1), 1000);
+        Event event = EventFixtures.events(1).get(0);
+        event.setEventDate(LocalDateTime.now().plusYears(1));
+        EventRepository eventRepository = Mockito.mock(EventRepository.class, Mockito.withSettings().stubOnly());
+        when(eventRepository.findById(anyLong())).thenAnswer(invocation -> {
+            sleep(databaseLatencyMs);
+            return Optional.of(event);
+        });
+        eventService = new EventService(eventRepository, Mockito.mock(CategoryService.class),
+            Mockito.mock(UserService.class), resilientStatsClient, eventViewsCache, eventViewRepository, clock,
+            false);
+        request = Mockito.mock(HttpServletRequest.class, Mockito.withSettings().stubOnly());
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        when(request.getRequestURI()).thenReturn("/events/1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        statsClient.flushHits();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public EventFullDto getEventPublicViewsNotCached() {
+        eventViewsCache.invalidate(1L);
+        return eventService.getEventPublic(1L, request);
+    }
+
+    @Benchmark
+    public EventFullDto getEventPublicViewsCached() {
+        return eventService.getEventPublic(1L, request);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
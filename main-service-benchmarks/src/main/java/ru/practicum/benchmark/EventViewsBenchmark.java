@@ -0,0 +1,78 @@
+package ru.practicum.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.StatsClient;
+import ru.practicum.ViewStats;
+import ru.practicum.dto.output.EventShortDto;
+import ru.practicum.entity.Event;
+import ru.practicum.mapper.EventMapper;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventViewRepository;
+import ru.practicum.service.CategoryService;
+import ru.practicum.service.EventService;
+import ru.practicum.service.EventViewsCache;
+import ru.practicum.service.ResilientStatsClient;
+import ru.practicum.service.UserService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventViewsBenchmark {
+    @Param({"10", "100", "1000"})
+    private int eventsCount;
+
+    private EventViewsCache eventViewsCache;
+    private EventService eventService;
+    private List<Long> ids;
+    private List<EventShortDto> dtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Event> events = EventFixtures.events(eventsCount);
+        List<ViewStats> stats = events.stream()
+            .map(event -> new ViewStats("main-service", "/events/" + event.getId(), event.getId() * 10))
+            .collect(Collectors.toList());
+        StatsClient statsClient = Mockito.mock(StatsClient.class, Mockito.withSettings().stubOnly());
+        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(stats);
+        Clock clock = Clock.fixed(Instant.parse("2023-06-01T00:00:00Z"), ZoneOffset.UTC);
+        ResilientStatsClient resilientStatsClient = new ResilientStatsClient(statsClient, new SimpleMeterRegistry(),
+            clock, 5, Duration.ofSeconds(30), 1, 4, Duration.ofSeconds(5));
+        EventViewRepository eventViewRepository = Mockito.mock(EventViewRepository.class);
+        eventViewsCache = new EventViewsCache(resilientStatsClient, eventViewRepository, clock,
+            new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ofHours(1), 100_000);
+        eventService = new EventService(Mockito.mock(EventRepository.class), Mockito.mock(CategoryService.class),
+            Mockito.mock(UserService.class), resilientStatsClient, eventViewsCache, eventViewRepository, clock,
+            false);
+        ids = events.stream().map(Event::getId).collect(Collectors.toList());
+        dtos = EventMapper.toEventShortDtoList(events);
+        eventViewsCache.reloadViews(ids);
+    }
+
+    @Benchmark
+    public Map<Long, Long> loadViewsFromStats() {
+        return eventViewsCache.reloadViews(ids);
+    }
+
+    @Benchmark
+    public List<EventShortDto> addViewsFromCache() {
+        eventService.addViews(dtos);
+        return dtos;
+    }
+}
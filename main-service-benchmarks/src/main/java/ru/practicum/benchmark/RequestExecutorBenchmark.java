@@ -0,0 +1,64 @@
+package ru.practicum.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class RequestExecutorBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String executor;
+
+    @Param({"200", "1000", "5000"})
+    private int concurrentRequests;
+
+    @Param({"20"})
+    private long blockingMs;
+
+    private ExecutorService requestExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (executor.equals("platform")) {
+            requestExecutor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        } else {
+            requestExecutor = VirtualThreads.newThreadPerTaskExecutor("request-virtual-")
+                .orElseThrow(() -> new IllegalStateException("Virtual threads require Java 21, running on Java " +
+                    Runtime.version().feature()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int handleConcurrentRequests() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            int requestId = i;
+            responses.add(requestExecutor.submit(() -> handleRequest(requestId)));
+        }
+        int handled = 0;
+        for (Future<Integer> response : responses) {
+            handled += response.get() >= 0 ? 1 : 0;
+        }
+        return handled;
+    }
+
+    private int handleRequest(int requestId) throws InterruptedException {
+        Thread.sleep(blockingMs);
+        return requestId;
+    }
+}
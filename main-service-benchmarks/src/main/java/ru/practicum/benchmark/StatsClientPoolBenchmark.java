@@ -0,0 +1,82 @@
+package ru.practicum.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import ru.practicum.StatsClient;
+import ru.practicum.StatsClientProperties;
+import ru.practicum.ViewStats;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(32)
+public class StatsClientPoolBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 1, 1, 0, 0, 0);
+    private static final String[] URIS = {"/events/1", "/events/2"};
+    private static final byte[] RESPONSE = ("[{\"app\":\"main-service\",\"uri\":\"/events/1\",\"hits\":10}," +
+        "{\"app\":\"main-service\",\"uri\":\"/events/2\",\"hits\":20}]").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"2", "8", "32"})
+    private int maxPerRoute;
+
+    @Param({"10"})
+    private long serverLatencyMs;
+
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private StatsClient statsClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(64);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/stats", exchange -> {
+            try {
+                Thread.sleep(serverLatencyMs);
+            } catch (InterruptedException exp) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        StatsClientProperties properties = new StatsClientProperties();
+        properties.getHttp().setMaxTotal(maxPerRoute);
+        properties.getHttp().setMaxPerRoute(maxPerRoute);
+        properties.getHttp().setConnectionRequestTimeoutMs(10000);
+        statsClient = new StatsClient("localhost", String.valueOf(server.getAddress().getPort()), properties,
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        statsClient.flushHits();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<ViewStats> getStats() {
+        return statsClient.getStats(START, END, URIS, false);
+    }
+}
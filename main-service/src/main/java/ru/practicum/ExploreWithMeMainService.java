@@ -3,11 +3,13 @@ package ru.practicum;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.Clock;
 
 
 @SpringBootApplication
+@EnableScheduling
 public class ExploreWithMeMainService {
     public static void main(String[] args) {
         SpringApplication.run(ExploreWithMeMainService.class, args);
@@ -8,17 +8,23 @@ import ru.practicum.dto.input.NewCompilationDto;
 import ru.practicum.dto.input.UpdateCompilationRequest;
 import ru.practicum.dto.input.UpdateEventAdminRequest;
 import ru.practicum.dto.output.CompilationDto;
+import ru.practicum.dto.output.CursorPage;
 import ru.practicum.dto.output.EventFullDto;
 import ru.practicum.dto.reversible.CategoryDto;
 import ru.practicum.dto.reversible.UserDto;
 import ru.practicum.service.CategoryService;
 import ru.practicum.service.CompilationService;
 import ru.practicum.service.EventService;
+import ru.practicum.service.PageCursor;
 import ru.practicum.service.UserService;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -78,10 +84,14 @@ public class AdminController {
     @GetMapping("/users")
     @ResponseStatus(HttpStatus.OK)
     public List<UserDto> getUsers(@RequestParam(required = false) Long[] ids,
+                                  @RequestParam(required = false) String cursor,
                                   @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
-                                  @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
-        log.info("GET: /admin/users, ids = {}, from = {}, size = {}", ids, from, size);
-        return userService.getUsers(ids, from, size);
+                                  @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size,
+                                  @RequestParam(required = false, defaultValue = "false") Boolean withTotalCount,
+                                  HttpServletResponse response) {
+        log.info("GET: /admin/users, ids = {}, cursor = {}, from = {}, size = {}", ids, cursor, from, size);
+        return getContentWithNextCursor(userService.getUsers(ids, cursor, from, size), withTotalCount,
+            response);
     }
 
     @GetMapping("/events")
@@ -89,11 +99,22 @@ public class AdminController {
     public List<EventFullDto> getEvents(@RequestParam(required = false) Long[] users, @RequestParam(required =
         false) String[] states, @RequestParam(required = false) Long[] categories, @RequestParam(required = false)
                                         String rangeStart, @RequestParam(required = false) String rangeEnd,
+                                        @RequestParam(required = false) String cursor,
                                         @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
-                                        @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
-        log.info("GET: /admin/events, users = {}, states = {}, categories = {}, rangeStart = {}, rangeEnd = {} from =" +
-            "= {}, size = {}", users, states, categories, rangeStart, rangeEnd, from, size);
-        return eventService.getEventsAdmin(users, states, categories, rangeStart, rangeEnd, from, size);
+                                        @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size,
+                                        @RequestParam(required = false, defaultValue = "false") Boolean withTotalCount,
+                                        HttpServletResponse response) {
+        log.info("GET: /admin/events, users = {}, states = {}, categories = {}, rangeStart = {}, rangeEnd = {}, " +
+            "cursor = {}, from = {}, size = {}", users, states, categories, rangeStart, rangeEnd, cursor, from, size);
+        return getContentWithNextCursor(eventService.getEventsAdmin(users, states, categories, rangeStart, rangeEnd,
+            cursor, from, size), withTotalCount, response);
+    }
+
+    @GetMapping(value = "/events", params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public List<EventFullDto> getEventsByIds(@RequestParam @NotEmpty @Size(max = 100) Long[] ids) {
+        log.info("GET: /admin/events, ids = {}", Arrays.toString(ids));
+        return eventService.getEventsAdminByIds(ids);
     }
 
     @PatchMapping("/events/{eventId}")
@@ -125,4 +146,15 @@ public class AdminController {
         log.info("PATCH: /admin/compilations/{}, value = {}", compId, updateRequest);
         return compilationService.updateCompilation(compId, updateRequest);
     }
+
+    private <T> List<T> getContentWithNextCursor(CursorPage<T> page, Boolean withTotalCount,
+                                                 HttpServletResponse response) {
+        if (page.getNextCursor() != null) {
+            response.setHeader(PageCursor.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        if (withTotalCount) {
+            response.setHeader(CursorPage.TOTAL_COUNT_HEADER, String.valueOf(page.getTotalCount().getAsLong()));
+        }
+        return page.getContent();
+    }
 }
\ No newline at end of file
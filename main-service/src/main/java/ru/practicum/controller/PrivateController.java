@@ -10,6 +10,7 @@ import ru.practicum.dto.input.UpdateEventUserRequest;
 import ru.practicum.dto.output.*;
 import ru.practicum.dto.reversible.UserDto;
 import ru.practicum.service.EventService;
+import ru.practicum.service.RequestAdmissionQueue;
 import ru.practicum.service.RequestService;
 import ru.practicum.service.UserService;
 import ru.practicum.state.SubscriptionState;
@@ -28,11 +29,14 @@ import java.util.List;
 public class PrivateController {
     private final EventService eventService;
     private final RequestService requestService;
+    private final RequestAdmissionQueue requestAdmissionQueue;
     private final UserService userService;
 
-    public PrivateController(EventService eventService, RequestService requestService, UserService userService) {
+    public PrivateController(EventService eventService, RequestService requestService,
+                             RequestAdmissionQueue requestAdmissionQueue, UserService userService) {
         this.eventService = eventService;
         this.requestService = requestService;
+        this.requestAdmissionQueue = requestAdmissionQueue;
         this.userService = userService;
     }
 
@@ -94,6 +98,22 @@ public class PrivateController {
         return requestService.addParticipationRequest(userId, eventId);
     }
 
+    @PostMapping("/{userId}/requests/queue")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public AdmissionTicketDto queueParticipationRequest(@PathVariable @Positive Long userId, @RequestParam
+    @Positive Long eventId) {
+        log.info("POST: /users/{}/requests/queue, eventId = {}", userId, eventId);
+        return requestAdmissionQueue.submit(userId, eventId);
+    }
+
+    @GetMapping("/{userId}/requests/queue/{ticketId}")
+    @ResponseStatus(HttpStatus.OK)
+    public AdmissionTicketDto getAdmissionTicket(@PathVariable @Positive Long userId,
+                                                 @PathVariable @NotBlank String ticketId) {
+        log.info("GET: /users/{}/requests/queue/{}", userId, ticketId);
+        return requestAdmissionQueue.getTicket(userId, ticketId);
+    }
+
     @PatchMapping("/{userId}/requests/{requestId}/cancel")
     @ResponseStatus(HttpStatus.OK)
     public ParticipationRequestDto cancelRequest(@PathVariable @Positive Long userId,
@@ -7,18 +7,24 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.dto.output.EventInitiatorDto;
 import ru.practicum.dto.reversible.CategoryDto;
 import ru.practicum.dto.output.CompilationDto;
+import ru.practicum.dto.output.CursorPage;
 import ru.practicum.dto.output.EventFullDto;
 import ru.practicum.dto.output.EventShortDto;
 import ru.practicum.service.CategoryService;
 import ru.practicum.service.CompilationService;
 import ru.practicum.service.EventService;
+import ru.practicum.service.PageCursor;
 import ru.practicum.service.UserService;
 import ru.practicum.state.UserProfileState;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -60,15 +66,25 @@ public class PublicController {
         false) Boolean paid, @RequestParam(required = false) String rangeStart,
                                          @RequestParam(required = false) String rangeEnd, @RequestParam(required =
         false, defaultValue = "false") Boolean onlyAvailable, @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String cursor,
                                          @RequestParam(required = false,
                                              defaultValue = "0") @Min(0) Integer from,
                                          @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size,
-                                         HttpServletRequest request) {
+                                         @RequestParam(required = false, defaultValue = "false") Boolean withTotalCount,
+                                         HttpServletRequest request, HttpServletResponse response) {
         log.info("GET: /events, text = {}, categories = {}, paid = {}, rangeStart = {}, rangeEnd = {}, onlyAvailable " +
-                "= {}, sort = {}, from = {}, size = {}", text, categories, paid, rangeStart, rangeEnd, onlyAvailable,
-            sort, from, size);
-        return eventService.getEventsPublic(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from,
-            size, request);
+                "= {}, sort = {}, cursor = {}, from = {}, size = {}", text, categories, paid, rangeStart, rangeEnd,
+            onlyAvailable, sort, cursor, from, size);
+        return getContentWithNextCursor(eventService.getEventsPublic(text, categories, paid, rangeStart, rangeEnd,
+            onlyAvailable, sort, cursor, from, size, request), withTotalCount, response);
+    }
+
+    @GetMapping(value = "/events", params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public List<EventFullDto> getEventsByIds(@RequestParam @NotEmpty @Size(max = 100) Long[] ids,
+                                             HttpServletRequest request) {
+        log.info("GET: /events, ids = {}", Arrays.toString(ids));
+        return eventService.getEventsPublicByIds(ids, request);
     }
 
     @GetMapping("/events/{id}")
@@ -81,10 +97,14 @@ public class PublicController {
     @GetMapping("/compilations")
     @ResponseStatus(HttpStatus.OK)
     public List<CompilationDto> getCompilations(@RequestParam(required = false) Boolean pinned,
+                                                @RequestParam(required = false) String cursor,
                                                 @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
-                                                @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
-        log.info("GET: /compilations, pinned = {}, from = {}, size = {}", pinned, from, size);
-        return compilationService.getCompilations(pinned, from, size);
+                                                @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size,
+                                                @RequestParam(required = false, defaultValue = "false")
+                                                Boolean withTotalCount, HttpServletResponse response) {
+        log.info("GET: /compilations, pinned = {}, cursor = {}, from = {}, size = {}", pinned, cursor, from, size);
+        return getContentWithNextCursor(compilationService.getCompilations(pinned, cursor, from, size), withTotalCount,
+            response);
     }
 
     @GetMapping("/compilations/{compId}")
@@ -99,9 +119,25 @@ public class PublicController {
     public List<EventInitiatorDto> getInitiators(@RequestParam @NotBlank(message = "must be 'MOST_POPULAR' or " +
         "'MOST_INITIATIVE'") String sort,
                                                  @RequestParam (required = false) UserProfileState profile,
+                                                 @RequestParam(required = false) String cursor,
                                                  @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
-                                                 @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
-        log.info("GET: /initiators, sort = {}, profile = {}, from = {}, size = {}", sort, profile, from, size);
-        return userService.getInitiators(sort, profile, from, size);
+                                                 @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size,
+                                                 @RequestParam(required = false, defaultValue = "false")
+                                                 Boolean withTotalCount, HttpServletResponse response) {
+        log.info("GET: /initiators, sort = {}, profile = {}, cursor = {}, from = {}, size = {}", sort, profile, cursor,
+            from, size);
+        return getContentWithNextCursor(userService.getInitiators(sort, profile, cursor, from, size), withTotalCount,
+            response);
+    }
+
+    private <T> List<T> getContentWithNextCursor(CursorPage<T> page, Boolean withTotalCount,
+                                                 HttpServletResponse response) {
+        if (page.getNextCursor() != null) {
+            response.setHeader(PageCursor.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        if (withTotalCount) {
+            response.setHeader(CursorPage.TOTAL_COUNT_HEADER, String.valueOf(page.getTotalCount().getAsLong()));
+        }
+        return page.getContent();
     }
 }
\ No newline at end of file
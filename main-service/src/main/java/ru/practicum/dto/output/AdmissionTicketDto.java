@@ -0,0 +1,16 @@
+package ru.practicum.dto.output;
+
+import lombok.*;
+import ru.practicum.state.AdmissionState;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionTicketDto {
+    private String id;
+    private Long event;
+    private Long requester;
+    private AdmissionState status;
+    private ParticipationRequestDto request;
+    private String reason;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.dto.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private List<T> content;
+    private String nextCursor;
+    private LongSupplier totalCount;
+}
@@ -1,14 +1,11 @@
 package ru.practicum.entity;
 
 import lombok.*;
-import org.hibernate.annotations.Where;
 import org.springframework.lang.Nullable;
 import ru.practicum.state.EventState;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Getter
 @Setter
@@ -49,8 +46,6 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventState state;
     private String title;
-    @OneToMany
-    @JoinColumn(name = "event_id") // add
-    @Where(clause = "state = 'CONFIRMED'")
-    private List<Request> requests = new ArrayList<>();
+    @Column(name = "confirmed_requests", nullable = false, updatable = false)
+    private Long confirmedRequests = 0L;
 }
\ No newline at end of file
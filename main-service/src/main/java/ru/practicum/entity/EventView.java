@@ -0,0 +1,27 @@
+package ru.practicum.entity;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Entity
+@Table(name = "event_views")
+public class EventView {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    @Column(nullable = false)
+    private Long views;
+    @Column(name = "updated_on", nullable = false)
+    private LocalDateTime updatedOn;
+}
@@ -0,0 +1,7 @@
+package ru.practicum.entity;
+
+public interface EventWithViews {
+    Event getEvent();
+
+    Long getViews();
+}
@@ -0,0 +1,26 @@
+package ru.practicum.entity;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Entity
+@Table(name = "initiator_stats")
+public class InitiatorStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    @Column(name = "published_events", nullable = false, updatable = false)
+    private Long publishedEvents;
+    @Column(name = "confirmed_subscribers", nullable = false, updatable = false)
+    private Long confirmedSubscribers;
+}
@@ -1,5 +1,7 @@
 package ru.practicum.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.entity.Category;
@@ -9,4 +11,6 @@ import java.util.List;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category,Long> {
     List<Category> getCategoriesByIdIn(List<Long> ids);
+
+    Slice<Category> findAllBy(Pageable pageable);
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package ru.practicum.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.entity.Compilation;
 
 @Repository
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
-    Page<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
+    Slice<Compilation> findAllByIdGreaterThan(Long afterId, Pageable pageable);
+
+    Slice<Compilation> findAllByPinnedAndIdGreaterThan(Boolean pinned, Long afterId, Pageable pageable);
+
+    long countByPinned(Boolean pinned);
 }
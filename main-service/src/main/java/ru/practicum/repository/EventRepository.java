@@ -1,14 +1,17 @@
 package ru.practicum.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.state.EventState;
 import ru.practicum.entity.Category;
 import ru.practicum.entity.Event;
+import ru.practicum.entity.EventWithViews;
 import ru.practicum.entity.User;
 
 import java.time.LocalDateTime;
@@ -16,47 +19,219 @@ import java.util.List;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
-    Page<Event> findAllByInitiator(User user, Pageable pageable);
-
-    List<Event> findAllByIdIn(List<Long> ids);
-
-    Page<Event> findAllByInitiatorAndState(User user, EventState state, Pageable pageable);
-
-    @Query("SELECT e FROM Event e WHERE ((:users) IS NULL OR e.initiator IN (:users)) " +
+    String ADMIN_FILTER = "WHERE ((:users) IS NULL OR e.initiator IN (:users)) " +
         "AND ((:states) IS NULL OR e.state IN (:states)) " +
         "AND ((:categories) IS NULL OR e.category IN (:categories)) " +
         "AND (cast(:rangeStart as timestamp) IS NULL OR e.eventDate >= :rangeStart) " +
-        "AND (cast(:rangeEnd as timestamp) IS NULL OR e.eventDate <= :rangeEnd)")
-    Page<Event> findAllAdminByFilter(@Param("users") List<User> users,
-                                     @Param("states") List<EventState> states,
-                                     @Param("categories") List<Category> categories,
-                                     @Param("rangeStart") LocalDateTime rangeStart,
-                                     @Param("rangeEnd") LocalDateTime rangeEnd,
-                                     Pageable pageable);
-
-    @Query("SELECT e FROM Event e WHERE(e.state = 'PUBLISHED')" +
-        "AND (:text IS NULL OR UPPER (e.annotation) LIKE CONCAT ('%', UPPER(:text), '%') OR " +
-        "UPPER (e.description) LIKE CONCAT ('%',UPPER (:text), '%')) " +
-        "AND (:paid IS NULL OR e.paid = :paid) " +
+        "AND (cast(:rangeEnd as timestamp) IS NULL OR e.eventDate <= :rangeEnd) ";
+    String PUBLIC_FROM = "FROM Event e WHERE(e.state = 'PUBLISHED')";
+    String PUBLIC_VIEWS_SELECT = "SELECT e AS event, v.views AS views ";
+    String PUBLIC_VIEWS_FROM = "FROM Event e JOIN EventView v ON v.eventId = e.id WHERE(e.state = 'PUBLISHED')";
+    String PUBLIC_TEXT_LIKE = "AND (:text IS NULL OR UPPER (e.annotation) LIKE CONCAT ('%', UPPER(:text), '%') OR " +
+        "UPPER (e.description) LIKE CONCAT ('%',UPPER (:text), '%')) ";
+    String PUBLIC_TEXT_SEARCH = "AND fts_match(e.annotation, e.description, :text) = true ";
+    String PUBLIC_FILTER = "AND (:paid IS NULL OR e.paid = :paid) " +
         "AND ((:categories) IS NULL OR e.category IN (:categories)) " +
+        "AND (:onlyAvailable IS FALSE OR (e.participantLimit = 0 OR e.confirmedRequests < e.participantLimit)) ";
+    String PUBLIC_FILTER_RANGE = PUBLIC_FILTER +
         "AND (cast(:rangeStart as timestamp) IS NULL OR e.eventDate >= :rangeStart) " +
-        "AND (cast(:rangeEnd as timestamp) IS NULL OR e.eventDate <= :rangeEnd) " +
-        "AND (:onlyAvailable IS FALSE OR (e.participantLimit = 0 OR SIZE(e.requests) < e.participantLimit)) ")
-    Page<Event> findAllPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
-                                      @Param("paid") Boolean paid, @Param("rangeStart") LocalDateTime rangeStart,
+        "AND (cast(:rangeEnd as timestamp) IS NULL OR e.eventDate <= :rangeEnd) ";
+    String PUBLIC_FILTER_NOW = PUBLIC_FILTER + "AND (e.eventDate >= :now) ";
+    String PUBLIC_ID_KEYSET = "AND e.id > :afterId ";
+    String PUBLIC_EVENT_DATE_KEYSET = "AND (e.eventDate > :afterDate OR (e.eventDate = :afterDate AND e.id > :afterId)) ";
+    String PUBLIC_VIEWS_KEYSET = "AND (v.views < :afterViews OR (v.views = :afterViews AND v.eventId > :afterId)) ";
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Slice<Event> findAllByInitiator(User user, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    List<Event> findAllByIdIn(List<Long> ids);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Slice<Event> findAllByInitiatorAndState(User user, EventState state, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e FROM Event e " + ADMIN_FILTER + "AND e.id > :afterId")
+    Slice<Event> findAllAdminByFilter(@Param("users") List<User> users,
+                                      @Param("states") List<EventState> states,
+                                      @Param("categories") List<Category> categories,
+                                      @Param("rangeStart") LocalDateTime rangeStart,
                                       @Param("rangeEnd") LocalDateTime rangeEnd,
-                                      @Param("onlyAvailable") Boolean onlyAvailable,
+                                      @Param("afterId") Long afterId,
                                       Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE(e.state = 'PUBLISHED')" +
-        "AND (:text IS NULL OR UPPER (e.annotation) LIKE CONCAT ('%', UPPER(:text), '%') OR " +
-        "UPPER (e.description) LIKE CONCAT ('%',UPPER (:text), '%')) " +
-        "AND (:paid IS NULL OR e.paid = :paid) " +
-        "AND ((:categories) IS NULL OR e.category IN (:categories)) " +
-        "AND (e.eventDate >= :now) " +
-        "AND (:onlyAvailable IS FALSE OR (e.participantLimit = 0 OR SIZE(e.requests) < e.participantLimit)) ")
-    Page<Event> findAllPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
-                                      @Param("paid") Boolean paid,
-                                      @Param("onlyAvailable") Boolean onlyAvailable,
-                                      @Param("now") LocalDateTime now, Pageable pageable);
+    @Query("SELECT COUNT(e) FROM Event e " + ADMIN_FILTER)
+    long countAdminByFilter(@Param("users") List<User> users,
+                            @Param("states") List<EventState> states,
+                            @Param("categories") List<Category> categories,
+                            @Param("rangeStart") LocalDateTime rangeStart,
+                            @Param("rangeEnd") LocalDateTime rangeEnd);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e " + PUBLIC_FROM + PUBLIC_TEXT_LIKE + PUBLIC_FILTER_RANGE + PUBLIC_ID_KEYSET)
+    Slice<Event> findAllPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
+                                       @Param("paid") Boolean paid, @Param("rangeStart") LocalDateTime rangeStart,
+                                       @Param("rangeEnd") LocalDateTime rangeEnd,
+                                       @Param("onlyAvailable") Boolean onlyAvailable,
+                                       @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e " + PUBLIC_FROM + PUBLIC_TEXT_LIKE + PUBLIC_FILTER_NOW + PUBLIC_ID_KEYSET)
+    Slice<Event> findAllPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
+                                       @Param("paid") Boolean paid,
+                                       @Param("onlyAvailable") Boolean onlyAvailable,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e " + PUBLIC_FROM + PUBLIC_TEXT_LIKE + PUBLIC_FILTER_RANGE + PUBLIC_EVENT_DATE_KEYSET)
+    Slice<Event> findAllPublicByFilterAfterEventDate(@Param("text") String text,
+                                                     @Param("categories") List<Category> categories,
+                                                     @Param("paid") Boolean paid,
+                                                     @Param("rangeStart") LocalDateTime rangeStart,
+                                                     @Param("rangeEnd") LocalDateTime rangeEnd,
+                                                     @Param("onlyAvailable") Boolean onlyAvailable,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("afterDate") LocalDateTime afterDate, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e " + PUBLIC_FROM + PUBLIC_TEXT_LIKE + PUBLIC_FILTER_NOW + PUBLIC_EVENT_DATE_KEYSET)
+    Slice<Event> findAllPublicByFilterAfterEventDate(@Param("text") String text,
+                                                     @Param("categories") List<Category> categories,
+                                                     @Param("paid") Boolean paid,
+                                                     @Param("onlyAvailable") Boolean onlyAvailable,
+                                                     @Param("now") LocalDateTime now,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("afterDate") LocalDateTime afterDate, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query(PUBLIC_VIEWS_SELECT + PUBLIC_VIEWS_FROM + PUBLIC_TEXT_LIKE + PUBLIC_FILTER_RANGE + PUBLIC_VIEWS_KEYSET)
+    Slice<EventWithViews> findAllPublicByFilterOrderByViews(@Param("text") String text,
+                                                   @Param("categories") List<Category> categories,
+                                                   @Param("paid") Boolean paid,
+                                                   @Param("rangeStart") LocalDateTime rangeStart,
+                                                   @Param("rangeEnd") LocalDateTime rangeEnd,
+                                                   @Param("onlyAvailable") Boolean onlyAvailable,
+                                                   @Param("afterId") Long afterId,
+                                                   @Param("afterViews") Long afterViews, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query(PUBLIC_VIEWS_SELECT + PUBLIC_VIEWS_FROM + PUBLIC_TEXT_LIKE + PUBLIC_FILTER_NOW + PUBLIC_VIEWS_KEYSET)
+    Slice<EventWithViews> findAllPublicByFilterOrderByViews(@Param("text") String text,
+                                                   @Param("categories") List<Category> categories,
+                                                   @Param("paid") Boolean paid,
+                                                   @Param("onlyAvailable") Boolean onlyAvailable,
+                                                   @Param("now") LocalDateTime now,
+                                                   @Param("afterId") Long afterId,
+                                                   @Param("afterViews") Long afterViews, Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM Event e WHERE(e.state = 'PUBLISHED')" + PUBLIC_TEXT_LIKE + PUBLIC_FILTER_RANGE)
+    long countPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
+                             @Param("paid") Boolean paid, @Param("rangeStart") LocalDateTime rangeStart,
+                             @Param("rangeEnd") LocalDateTime rangeEnd,
+                             @Param("onlyAvailable") Boolean onlyAvailable);
+
+    @Query("SELECT COUNT(e) FROM Event e WHERE(e.state = 'PUBLISHED')" + PUBLIC_TEXT_LIKE + PUBLIC_FILTER_NOW)
+    long countPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
+                             @Param("paid") Boolean paid,
+                             @Param("onlyAvailable") Boolean onlyAvailable,
+                             @Param("now") LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e " + PUBLIC_FROM + PUBLIC_TEXT_SEARCH + PUBLIC_FILTER_RANGE + PUBLIC_ID_KEYSET)
+    Slice<Event> searchAllPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
+                                         @Param("paid") Boolean paid, @Param("rangeStart") LocalDateTime rangeStart,
+                                         @Param("rangeEnd") LocalDateTime rangeEnd,
+                                         @Param("onlyAvailable") Boolean onlyAvailable,
+                                         @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e " + PUBLIC_FROM + PUBLIC_TEXT_SEARCH + PUBLIC_FILTER_NOW + PUBLIC_ID_KEYSET)
+    Slice<Event> searchAllPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
+                                         @Param("paid") Boolean paid,
+                                         @Param("onlyAvailable") Boolean onlyAvailable,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e " + PUBLIC_FROM + PUBLIC_TEXT_SEARCH + PUBLIC_FILTER_RANGE + PUBLIC_EVENT_DATE_KEYSET)
+    Slice<Event> searchAllPublicByFilterAfterEventDate(@Param("text") String text,
+                                                       @Param("categories") List<Category> categories,
+                                                       @Param("paid") Boolean paid,
+                                                       @Param("rangeStart") LocalDateTime rangeStart,
+                                                       @Param("rangeEnd") LocalDateTime rangeEnd,
+                                                       @Param("onlyAvailable") Boolean onlyAvailable,
+                                                       @Param("afterId") Long afterId,
+                                                       @Param("afterDate") LocalDateTime afterDate, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e " + PUBLIC_FROM + PUBLIC_TEXT_SEARCH + PUBLIC_FILTER_NOW + PUBLIC_EVENT_DATE_KEYSET)
+    Slice<Event> searchAllPublicByFilterAfterEventDate(@Param("text") String text,
+                                                       @Param("categories") List<Category> categories,
+                                                       @Param("paid") Boolean paid,
+                                                       @Param("onlyAvailable") Boolean onlyAvailable,
+                                                       @Param("now") LocalDateTime now,
+                                                       @Param("afterId") Long afterId,
+                                                       @Param("afterDate") LocalDateTime afterDate, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query(PUBLIC_VIEWS_SELECT + PUBLIC_VIEWS_FROM + PUBLIC_TEXT_SEARCH + PUBLIC_FILTER_RANGE + PUBLIC_VIEWS_KEYSET)
+    Slice<EventWithViews> searchAllPublicByFilterOrderByViews(@Param("text") String text,
+                                                     @Param("categories") List<Category> categories,
+                                                     @Param("paid") Boolean paid,
+                                                     @Param("rangeStart") LocalDateTime rangeStart,
+                                                     @Param("rangeEnd") LocalDateTime rangeEnd,
+                                                     @Param("onlyAvailable") Boolean onlyAvailable,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("afterViews") Long afterViews, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query(PUBLIC_VIEWS_SELECT + PUBLIC_VIEWS_FROM + PUBLIC_TEXT_SEARCH + PUBLIC_FILTER_NOW + PUBLIC_VIEWS_KEYSET)
+    Slice<EventWithViews> searchAllPublicByFilterOrderByViews(@Param("text") String text,
+                                                     @Param("categories") List<Category> categories,
+                                                     @Param("paid") Boolean paid,
+                                                     @Param("onlyAvailable") Boolean onlyAvailable,
+                                                     @Param("now") LocalDateTime now,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("afterViews") Long afterViews, Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM Event e WHERE(e.state = 'PUBLISHED')" + PUBLIC_TEXT_SEARCH + PUBLIC_FILTER_RANGE)
+    long countSearchPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
+                                   @Param("paid") Boolean paid, @Param("rangeStart") LocalDateTime rangeStart,
+                                   @Param("rangeEnd") LocalDateTime rangeEnd,
+                                   @Param("onlyAvailable") Boolean onlyAvailable);
+
+    @Query("SELECT COUNT(e) FROM Event e WHERE(e.state = 'PUBLISHED')" + PUBLIC_TEXT_SEARCH + PUBLIC_FILTER_NOW)
+    long countSearchPublicByFilter(@Param("text") String text, @Param("categories") List<Category> categories,
+                                   @Param("paid") Boolean paid,
+                                   @Param("onlyAvailable") Boolean onlyAvailable,
+                                   @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.id FROM Event e WHERE e.state = :state")
+    Slice<Long> findIdsByState(@Param("state") EventState state, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests + :delta WHERE e.id = :eventId")
+    void addConfirmedRequests(@Param("eventId") Long eventId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests + :count WHERE e.id = :eventId " +
+        "AND (e.participantLimit = 0 OR e.confirmedRequests + :count <= e.participantLimit)")
+    int reserveConfirmedRequests(@Param("eventId") Long eventId, @Param("count") long count);
+
+    @Query("SELECT e.confirmedRequests FROM Event e WHERE e.id = :eventId")
+    long getConfirmedRequests(@Param("eventId") Long eventId);
+
+    @Query(value = "SELECT e.id FROM events e WHERE e.confirmed_requests <> (SELECT COUNT(r.id) FROM requests r " +
+        "WHERE r.event_id = e.id AND r.state = 'CONFIRMED') ORDER BY e.id", nativeQuery = true)
+    List<Long> findIdsWithStaleConfirmedRequests();
+
+    @Query(value = "SELECT e.id FROM events e WHERE e.id = :eventId FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query(value = "UPDATE events e SET confirmed_requests = (SELECT COUNT(r.id) FROM requests r " +
+        "WHERE r.event_id = e.id AND r.state = 'CONFIRMED') WHERE e.id = :eventId AND e.confirmed_requests <> " +
+        "(SELECT COUNT(r.id) FROM requests r WHERE r.event_id = e.id AND r.state = 'CONFIRMED')", nativeQuery = true)
+    int reconcileConfirmedRequests(@Param("eventId") Long eventId);
 }
@@ -0,0 +1,9 @@
+package ru.practicum.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ru.practicum.entity.EventView;
+
+@Repository
+public interface EventViewRepository extends JpaRepository<EventView, Long> {
+}
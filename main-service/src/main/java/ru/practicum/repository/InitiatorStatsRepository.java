@@ -0,0 +1,69 @@
+package ru.practicum.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.dto.output.EventInitiatorDto;
+import ru.practicum.entity.InitiatorStats;
+import ru.practicum.state.UserProfileState;
+
+@Repository
+public interface InitiatorStatsRepository extends JpaRepository<InitiatorStats, Long> {
+    String LEADERBOARD = "SELECT new ru.practicum.dto.output.EventInitiatorDto(u.id, u.name, u.profile, " +
+        "s.publishedEvents, s.confirmedSubscribers) " +
+        "FROM InitiatorStats s " +
+        "JOIN User u ON u.id = s.userId " +
+        "WHERE (:profile IS NULL OR u.profile = :profile) ";
+
+    @Query(LEADERBOARD +
+        "AND (s.confirmedSubscribers < :afterCount OR (s.confirmedSubscribers = :afterCount AND s.userId < :afterId)) " +
+        "ORDER BY s.confirmedSubscribers DESC, s.userId DESC")
+    Slice<EventInitiatorDto> findMostPopular(@Param("profile") UserProfileState profile,
+                                             @Param("afterCount") Long afterCount, @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    @Query(LEADERBOARD +
+        "AND (s.publishedEvents < :afterCount OR (s.publishedEvents = :afterCount AND s.userId < :afterId)) " +
+        "ORDER BY s.publishedEvents DESC, s.userId DESC")
+    Slice<EventInitiatorDto> findMostInitiative(@Param("profile") UserProfileState profile,
+                                                @Param("afterCount") Long afterCount, @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    @Query("SELECT COUNT(s) FROM InitiatorStats s JOIN User u ON u.id = s.userId " +
+        "WHERE (:profile IS NULL OR u.profile = :profile)")
+    long countByProfile(@Param("profile") UserProfileState profile);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE InitiatorStats s SET s.publishedEvents = s.publishedEvents + :delta WHERE s.userId = :userId")
+    int addPublishedEvents(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE InitiatorStats s SET s.confirmedSubscribers = s.confirmedSubscribers + :delta " +
+        "WHERE s.userId = :userId")
+    int addConfirmedSubscribers(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO initiator_stats (user_id, published_events, confirmed_subscribers) " +
+        "SELECT u.id, 0, 0 FROM users u WHERE NOT EXISTS (SELECT 1 FROM initiator_stats s WHERE s.user_id = u.id)",
+        nativeQuery = true)
+    int insertMissingStats();
+
+    @Modifying
+    @Query(value = "UPDATE initiator_stats s " +
+        "SET published_events = (SELECT COUNT(e.id) FROM events e WHERE e.user_id = s.user_id " +
+        "AND e.state = 'PUBLISHED'), " +
+        "confirmed_subscribers = (SELECT COUNT(sb.id) FROM subscriptions sb WHERE sb.subscribed_to = s.user_id " +
+        "AND sb.subscribe_state = 'CONFIRMED') " +
+        "WHERE s.published_events <> (SELECT COUNT(e.id) FROM events e WHERE e.user_id = s.user_id " +
+        "AND e.state = 'PUBLISHED') " +
+        "OR s.confirmed_subscribers <> (SELECT COUNT(sb.id) FROM subscriptions sb WHERE sb.subscribed_to = " +
+        "s.user_id AND sb.subscribe_state = 'CONFIRMED')", nativeQuery = true)
+    int reconcileStats();
+}
@@ -1,6 +1,7 @@
 package ru.practicum.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +12,7 @@ import ru.practicum.entity.Event;
 import ru.practicum.entity.Request;
 import ru.practicum.entity.User;
 
+import javax.persistence.LockModeType;
 import java.util.List;
 
 @Repository
@@ -21,15 +23,17 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
 
     List<Request> findAllByIdInAndState(List<Long> requestId, RequestState requestState);
 
-    List<Request> findAllByState(RequestState requestState);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Request> findAllByEventIdAndState(Long eventId, RequestState requestState);
 
     @Modifying(clearAutomatically = true)
     @Transactional
-    @Query("UPDATE Request r SET r.state = :state WHERE r.id IN (:requestIds)")
-    void updateRequestStateByIds(@Param("requestIds") List<Long> requestIds, @Param("state") RequestState state);
+    @Query("UPDATE Request r SET r.state = :state WHERE r.id IN (:requestIds) AND r.state = 'PENDING'")
+    int updatePendingRequestStateByIds(@Param("requestIds") List<Long> requestIds,
+                                       @Param("state") RequestState state);
 
     @Modifying(clearAutomatically = true)
     @Transactional
-    @Query("UPDATE Request r SET r.state = :state WHERE r.state = :pending")
-    void rejectRequests(@Param("state") RequestState newState, @Param("pending") RequestState oldState);
+    @Query("UPDATE Request r SET r.state = 'REJECTED' WHERE r.event.id = :eventId AND r.state = 'PENDING'")
+    int rejectPendingRequests(@Param("eventId") Long eventId);
 }
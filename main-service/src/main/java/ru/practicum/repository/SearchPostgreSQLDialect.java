@@ -0,0 +1,19 @@
+package ru.practicum.repository;
+
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+public class SearchPostgreSQLDialect extends PostgreSQL10Dialect {
+    public static final String SEARCH_DOCUMENT =
+        "to_tsvector('russian', coalesce(?1, '') || ' ' || coalesce(?2, ''))";
+    public static final String SEARCH_QUERY = "plainto_tsquery('russian', ?3)";
+
+    public SearchPostgreSQLDialect() {
+        super();
+        registerFunction("fts_match", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+            "(" + SEARCH_DOCUMENT + " @@ " + SEARCH_QUERY + ")"));
+        registerFunction("fts_rank", new SQLFunctionTemplate(StandardBasicTypes.DOUBLE,
+            "ts_rank(" + SEARCH_DOCUMENT + ", " + SEARCH_QUERY + ")"));
+    }
+}
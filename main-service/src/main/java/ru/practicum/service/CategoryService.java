@@ -46,7 +46,7 @@ public class CategoryService {
 
     public List<CategoryDto> getCategories(Integer from, Integer size) {
         Pageable pageRequest = PageRequestSpecifier.getPageRequestWithoutSort(from, size);
-        List<Category> categories = categoryRepository.findAll(pageRequest).getContent();
+        List<Category> categories = categoryRepository.findAllBy(pageRequest).getContent();
         log.info("Get request for Categories list processed successfully");
         return CategoryMapper.toCategoryDtoList(categories);
     }
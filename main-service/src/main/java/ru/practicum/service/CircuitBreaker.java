@@ -0,0 +1,80 @@
+package ru.practicum.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.state.CircuitState;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+@Slf4j
+public class CircuitBreaker {
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final Clock clock;
+    private CircuitState state = CircuitState.CLOSED;
+    private int failures;
+    private int probes;
+    private Instant openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, int halfOpenProbes,
+                          Clock clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                return false;
+            }
+            state = CircuitState.HALF_OPEN;
+            probes = 0;
+            log.info("Circuit {} is half-open, probing", name);
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (probes >= halfOpenProbes) {
+                return false;
+            }
+            probes++;
+        }
+        return true;
+    }
+
+    public synchronized void release() {
+        if (state == CircuitState.HALF_OPEN && probes > 0) {
+            probes--;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != CircuitState.CLOSED) {
+            log.info("Circuit {} is closed", name);
+        }
+        state = CircuitState.CLOSED;
+        failures = 0;
+        probes = 0;
+    }
+
+    public synchronized void onFailure() {
+        failures++;
+        if (state == CircuitState.HALF_OPEN || (state == CircuitState.CLOSED && failures >= failureThreshold)) {
+            state = CircuitState.OPEN;
+            openedAt = clock.instant();
+            log.warn("Circuit {} is open for {} ms after {} failures", name, openDuration.toMillis(), failures);
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return state == CircuitState.OPEN && clock.instant().isBefore(openedAt.plus(openDuration));
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+}
@@ -2,10 +2,13 @@ package ru.practicum.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.exception.IllegalActionException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.dto.output.CompilationDto;
+import ru.practicum.dto.output.CursorPage;
 import ru.practicum.dto.output.EventShortDto;
 import ru.practicum.dto.input.NewCompilationDto;
 import ru.practicum.dto.input.UpdateCompilationRequest;
@@ -16,7 +19,7 @@ import ru.practicum.mapper.EventMapper;
 import ru.practicum.repository.CompilationRepository;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.LongSupplier;
 
 @Service
 @Slf4j
@@ -66,19 +69,34 @@ public class CompilationService {
         return getCompilationDtoWithEventsViews(saved);
     }
 
-    public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size) {
-        Pageable pageRequest = PageRequestSpecifier.getPageRequestWithoutSort(from, size);
-        List<Compilation> compilations;
+    public CursorPage<CompilationDto> getCompilations(Boolean pinned, String cursor, Integer from, Integer size) {
+        PageCursor after = cursor != null ? PageCursor.decode(cursor).checkSort(PageCursor.ID) : null;
+        Pageable pageRequest = PageRequestSpecifier.getPageRequest(after, from, size, Sort.by("id"));
+        Long afterId = after != null ? after.getId() : 0L;
+        Slice<Compilation> compilationsSlice;
+        LongSupplier totalCount;
         if (pinned == null) {
-            compilations = compilationRepository.findAll(pageRequest).getContent();
+            compilationsSlice = compilationRepository.findAllByIdGreaterThan(afterId, pageRequest);
+            totalCount = compilationRepository::count;
         } else {
-            compilations = compilationRepository.findAllByPinned(pinned, pageRequest).getContent();
+            compilationsSlice = compilationRepository.findAllByPinnedAndIdGreaterThan(pinned, afterId, pageRequest);
+            totalCount = () -> compilationRepository.countByPinned(pinned);
         }
-        List<CompilationDto> compilationDtoList = compilations.stream()
-            .map(this::getCompilationDtoWithEventsViews)
-            .collect(Collectors.toList());
+        List<Compilation> compilations = compilationsSlice.getContent();
+        List<CompilationDto> compilationDtoList = new ArrayList<>(compilations.size());
+        List<EventShortDto> pageEvents = new ArrayList<>();
+        for (Compilation compilation : compilations) {
+            CompilationDto compilationDto = CompilationMapper.toCompilationDto(compilation);
+            List<EventShortDto> eventShortDtoList = EventMapper.toEventShortDtoList(compilation.getEvents());
+            compilationDto.setEvents(eventShortDtoList);
+            pageEvents.addAll(eventShortDtoList);
+            compilationDtoList.add(compilationDto);
+        }
+        eventService.addViews(pageEvents);
         log.info("Get request for Compilations list by pinned = {} processed successfully", pinned);
-        return compilationDtoList;
+        String nextCursor = compilationsSlice.hasNext() ? new PageCursor(PageCursor.ID, null,
+            compilations.get(compilations.size() - 1).getId()).encode() : null;
+        return new CursorPage<>(compilationDtoList, nextCursor, totalCount);
     }
 
     public CompilationDto getCompilation(Long compId) {
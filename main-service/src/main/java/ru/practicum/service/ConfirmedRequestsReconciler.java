@@ -0,0 +1,43 @@
+package ru.practicum.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.repository.EventRepository;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class ConfirmedRequestsReconciler {
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ConfirmedRequestsReconciler(EventRepository eventRepository, TransactionTemplate transactionTemplate) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${events.confirmed-requests.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        List<Long> staleIds = eventRepository.findIdsWithStaleConfirmedRequests();
+        int repaired = 0;
+        for (Long eventId : staleIds) {
+            Integer updated = transactionTemplate.execute(status -> {
+                eventRepository.lockById(eventId);
+                return eventRepository.reconcileConfirmedRequests(eventId);
+            });
+            repaired += updated != null ? updated : 0;
+        }
+        if (repaired > 0) {
+            log.warn("Confirmed requests counter has been repaired for {} events", repaired);
+        } else {
+            log.info("Confirmed requests counters are consistent with requests");
+        }
+        return repaired;
+    }
+}
@@ -1,24 +1,33 @@
 package ru.practicum.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.*;
 import ru.practicum.dto.input.NewEventDto;
 import ru.practicum.dto.input.UpdateEventAdminRequest;
 import ru.practicum.dto.input.UpdateEventRequestDto;
 import ru.practicum.dto.input.UpdateEventUserRequest;
+import ru.practicum.dto.output.CursorPage;
 import ru.practicum.dto.output.EventFullDto;
 import ru.practicum.dto.output.EventOutputDto;
 import ru.practicum.dto.output.EventShortDto;
 import ru.practicum.entity.Category;
 import ru.practicum.entity.Event;
+import ru.practicum.entity.EventView;
+import ru.practicum.entity.EventWithViews;
 import ru.practicum.entity.Subscription;
 import ru.practicum.entity.User;
 import ru.practicum.exception.IllegalActionException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.mapper.EventMapper;
 import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventViewRepository;
 import ru.practicum.state.EventState;
 import ru.practicum.state.SubscriptionState;
 
@@ -26,25 +35,36 @@ import javax.servlet.http.HttpServletRequest;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class EventService {
+    private static final Set<String> PUBLIC_SORTS = Set.of("EVENT_DATE", "VIEWS", "RELEVANCE");
+
     private final EventRepository eventRepository;
     private final CategoryService categoryService;
     private final UserService userService;
-    private final StatsClient statsClient;
+    private final ResilientStatsClient statsClient;
+    private final EventViewsCache eventViewsCache;
+    private final EventViewRepository eventViewRepository;
     private final Clock clock;
+    private final boolean fullTextSearch;
 
     public EventService(EventRepository eventRepository, CategoryService categoryService, UserService userService,
-                        StatsClient statsClient,
-                        Clock clock) {
+                        ResilientStatsClient statsClient, EventViewsCache eventViewsCache,
+                        EventViewRepository eventViewRepository, Clock clock,
+                        @Value("${events.search.full-text.enabled:false}") boolean fullTextSearch) {
         this.eventRepository = eventRepository;
         this.categoryService = categoryService;
         this.userService = userService;
         this.statsClient = statsClient;
+        this.eventViewsCache = eventViewsCache;
+        this.eventViewRepository = eventViewRepository;
         this.clock = clock;
+        this.fullTextSearch = fullTextSearch;
     }
 
     public EventFullDto addEvent(Long userId, NewEventDto newEventDto) {
@@ -78,9 +98,11 @@ public class EventService {
         return eventFullDto;
     }
 
-    public List<EventFullDto> getEventsAdmin(Long[] users, String[] states, Long[] categories, String rangeStart,
-                                             String rangeEnd, Integer from, Integer size) {
-        Pageable pageRequest = PageRequestSpecifier.getPageRequestWithoutSort(from, size);
+    public CursorPage<EventFullDto> getEventsAdmin(Long[] users, String[] states, Long[] categories,
+                                                   String rangeStart, String rangeEnd, String cursor, Integer from,
+                                                   Integer size) {
+        PageCursor after = cursor != null ? PageCursor.decode(cursor).checkSort(PageCursor.ID) : null;
+        Pageable pageRequest = PageRequestSpecifier.getPageRequest(after, from, size, Sort.by("id"));
         List<User> userList = users != null ? userService.getUsersById(users) : null;
         List<EventState> stateList = states != null ? Arrays.stream(states).map(EventState::getState)
             .collect(Collectors.toList()) : null;
@@ -90,79 +112,161 @@ public class EventService {
         if (dateTimeStart != null && dateTimeEnd != null) {
             validateStartEndTime(dateTimeStart, dateTimeEnd);
         }
-        List<Event> events = eventRepository.findAllAdminByFilter(userList, stateList, categoryList, dateTimeStart,
-            dateTimeEnd, pageRequest).getContent();
+        Slice<Event> eventsSlice = eventRepository.findAllAdminByFilter(userList, stateList, categoryList,
+            dateTimeStart, dateTimeEnd, after != null ? after.getId() : 0L, pageRequest);
+        List<Event> events = eventsSlice.getContent();
         log.info("Get request for events by filters: userList = {}, stateList = {}, categoryList = {}, dataTimeStart " +
                 "= {}, dataTimeEnd = {} processed successfully", userList, stateList, categoryList, dateTimeStart,
             dateTimeEnd);
         List<EventFullDto> eventFullDtoList = EventMapper.toEventFullDtoList(events);
         addViews(eventFullDtoList);
-        return eventFullDtoList;
+        String nextCursor = eventsSlice.hasNext()
+            ? new PageCursor(PageCursor.ID, null, events.get(events.size() - 1).getId()).encode() : null;
+        return new CursorPage<>(eventFullDtoList, nextCursor, () -> eventRepository.countAdminByFilter(userList,
+            stateList, categoryList, dateTimeStart, dateTimeEnd));
     }
 
     public EventFullDto getEventPublic(Long eventId, HttpServletRequest request) {
-        Event eventFromDb = getEventIfExist(eventId);
+        CompletableFuture<Map<Long, Long>> viewsFuture = eventViewsCache.getViewsAsync(List.of(eventId));
+        Event eventFromDb;
+        try {
+            eventFromDb = getEventIfExist(eventId);
+        } catch (NotFoundException exp) {
+            eventViewsCache.discard(eventId, viewsFuture);
+            throw exp;
+        }
         boolean isPublished = eventFromDb.getState().equals(EventState.PUBLISHED);
+        boolean isUpcoming = eventFromDb.getEventDate().isAfter(LocalDateTime.now(clock));
+        if (!isPublished || !isUpcoming) {
+            eventViewsCache.discard(eventId, viewsFuture);
+        }
         if (!isPublished) {
             String message = "Event id = " + eventId + "is not published";
             log.error(message);
             throw new NotFoundException(message);
         }
-        EventFullDto eventFullDto = EventMapper.toEventFullDto(eventFromDb);
-        addViews(eventFullDto);
         saveStats(request);
+        EventFullDto eventFullDto = EventMapper.toEventFullDto(eventFromDb);
+        addViews(eventFullDto, isUpcoming ? viewsFuture : null);
         log.info("Get request for Event by id = {} processed successfully", eventId);
         return eventFullDto;
     }
 
-    public List<EventShortDto> getEventsPublic(String text, Long[] categories, Boolean paid, String rangeStart,
-                                               String rangeEnd, Boolean onlyAvailable, String
-                                                   sort, Integer from,
-                                               Integer size, HttpServletRequest request) {
-        Pageable pageRequest = PageRequestSpecifier.getPageRequestWithoutSort(from, size);
+    public List<EventFullDto> getEventsPublicByIds(Long[] ids, HttpServletRequest request) {
+        List<Event> events = getEventsInRequestedOrder(ids).stream()
+            .filter(event -> event.getState().equals(EventState.PUBLISHED))
+            .collect(Collectors.toList());
+        List<EventFullDto> eventFullDtoList = EventMapper.toEventFullDtoList(events);
+        addViews(eventFullDtoList);
+        if (!events.isEmpty()) {
+            saveStats(events, request);
+        }
+        log.info("Get request for Events by ids = {} processed successfully", Arrays.toString(ids));
+        return eventFullDtoList;
+    }
+
+    public List<EventFullDto> getEventsAdminByIds(Long[] ids) {
+        List<EventFullDto> eventFullDtoList = EventMapper.toEventFullDtoList(getEventsInRequestedOrder(ids));
+        addViews(eventFullDtoList);
+        log.info("Get request for Events by ids = {} processed successfully by admin", Arrays.toString(ids));
+        return eventFullDtoList;
+    }
+
+    public CursorPage<EventShortDto> getEventsPublic(String text, Long[] categories, Boolean paid, String rangeStart,
+                                                     String rangeEnd, Boolean onlyAvailable, String sort,
+                                                     String cursor, Integer from, Integer size,
+                                                     HttpServletRequest request) {
+        if (sort != null && !PUBLIC_SORTS.contains(sort)) {
+            String message = "Unavailable action: unable to get events. Reason: event sort = " + sort
+                + " is not supported";
+            throw new IllegalActionException(message);
+        }
+        boolean isFullTextSearch = fullTextSearch && text != null && !text.isBlank();
+        if ("RELEVANCE".equals(sort) && !isFullTextSearch) {
+            throw new IllegalArgumentException("Sort by relevance requires full-text search and a non-blank text");
+        }
         List<Category> categoryList = categories != null ? categoryService.getCategoriesById(categories) : null;
         LocalDateTime dateTimeStart = rangeStart != null ? DateTimeParser.parseToDate(rangeStart) : null;
         LocalDateTime dateTimeEnd = rangeEnd != null ? DateTimeParser.parseToDate(rangeEnd) : null;
         if (dateTimeStart != null && dateTimeEnd != null) {
             validateStartEndTime(dateTimeStart, dateTimeEnd);
         }
-        List<Event> eventsUnsorted;
+        String sortKey = getPublicSortKey(sort, isFullTextSearch);
+        if (cursor != null && sortKey.equals("RELEVANCE")) {
+            throw new IllegalArgumentException("Cursor is not supported for events ordered by relevance");
+        }
+        PageCursor after = cursor != null ? PageCursor.decode(cursor).checkSort(sortKey) : null;
+        Long afterId = after != null ? after.getId() : 0L;
+        boolean isViewsSort = sortKey.equals("VIEWS");
+        Long afterViews = after != null && isViewsSort ? after.getValueAsLong() : Long.MAX_VALUE;
+        boolean isAfterEventDate = after != null && sortKey.equals("EVENT_DATE");
+        Pageable pageRequest = PageRequestSpecifier.getPageRequest(after, from, size, getPublicSort(sortKey));
+        Slice<EventWithViews> viewsSlice = null;
+        Slice<Event> eventsSlice;
+        LongSupplier totalCount;
         if (dateTimeStart == null && dateTimeEnd == null) {
             LocalDateTime now = LocalDateTime.now(clock);
-            eventsUnsorted = eventRepository.findAllPublicByFilter(text, categoryList, paid, onlyAvailable, now,
-                pageRequest).getContent();
+            if (isViewsSort) {
+                viewsSlice = isFullTextSearch
+                    ? eventRepository.searchAllPublicByFilterOrderByViews(text, categoryList, paid, onlyAvailable, now,
+                    afterId, afterViews, pageRequest)
+                    : eventRepository.findAllPublicByFilterOrderByViews(text, categoryList, paid, onlyAvailable, now,
+                    afterId, afterViews, pageRequest);
+                eventsSlice = viewsSlice.map(EventWithViews::getEvent);
+            } else if (isAfterEventDate) {
+                eventsSlice = isFullTextSearch
+                    ? eventRepository.searchAllPublicByFilterAfterEventDate(text, categoryList, paid, onlyAvailable,
+                    now, afterId, after.getValueAsDateTime(), pageRequest)
+                    : eventRepository.findAllPublicByFilterAfterEventDate(text, categoryList, paid, onlyAvailable,
+                    now, afterId, after.getValueAsDateTime(), pageRequest);
+            } else {
+                eventsSlice = isFullTextSearch
+                    ? eventRepository.searchAllPublicByFilter(text, categoryList, paid, onlyAvailable, now, afterId,
+                    pageRequest)
+                    : eventRepository.findAllPublicByFilter(text, categoryList, paid, onlyAvailable, now, afterId,
+                    pageRequest);
+            }
+            totalCount = isFullTextSearch
+                ? () -> eventRepository.countSearchPublicByFilter(text, categoryList, paid, onlyAvailable, now)
+                : () -> eventRepository.countPublicByFilter(text, categoryList, paid, onlyAvailable, now);
         } else {
-            eventsUnsorted = eventRepository.findAllPublicByFilter(text, categoryList, paid, dateTimeStart,
-                dateTimeEnd, onlyAvailable, pageRequest).getContent();
+            if (isViewsSort) {
+                viewsSlice = isFullTextSearch
+                    ? eventRepository.searchAllPublicByFilterOrderByViews(text, categoryList, paid, dateTimeStart,
+                    dateTimeEnd, onlyAvailable, afterId, afterViews, pageRequest)
+                    : eventRepository.findAllPublicByFilterOrderByViews(text, categoryList, paid, dateTimeStart,
+                    dateTimeEnd, onlyAvailable, afterId, afterViews, pageRequest);
+                eventsSlice = viewsSlice.map(EventWithViews::getEvent);
+            } else if (isAfterEventDate) {
+                eventsSlice = isFullTextSearch
+                    ? eventRepository.searchAllPublicByFilterAfterEventDate(text, categoryList, paid, dateTimeStart,
+                    dateTimeEnd, onlyAvailable, afterId, after.getValueAsDateTime(), pageRequest)
+                    : eventRepository.findAllPublicByFilterAfterEventDate(text, categoryList, paid, dateTimeStart,
+                    dateTimeEnd, onlyAvailable, afterId, after.getValueAsDateTime(), pageRequest);
+            } else {
+                eventsSlice = isFullTextSearch
+                    ? eventRepository.searchAllPublicByFilter(text, categoryList, paid, dateTimeStart,
+                    dateTimeEnd, onlyAvailable, afterId, pageRequest)
+                    : eventRepository.findAllPublicByFilter(text, categoryList, paid, dateTimeStart,
+                    dateTimeEnd, onlyAvailable, afterId, pageRequest);
+            }
+            totalCount = isFullTextSearch
+                ? () -> eventRepository.countSearchPublicByFilter(text, categoryList, paid, dateTimeStart,
+                dateTimeEnd, onlyAvailable)
+                : () -> eventRepository.countPublicByFilter(text, categoryList, paid, dateTimeStart, dateTimeEnd,
+                onlyAvailable);
         }
+        List<Event> eventsUnsorted = eventsSlice.getContent();
+        Long lastViews = viewsSlice != null && viewsSlice.hasContent()
+            ? viewsSlice.getContent().get(viewsSlice.getNumberOfElements() - 1).getViews() : null;
+        String nextCursor = eventsSlice.hasNext() ? getPublicNextCursor(sortKey, eventsUnsorted, lastViews) : null;
         List<EventShortDto> eventsDtoUnsorted = EventMapper.toEventShortDtoList(eventsUnsorted);
         addViews(eventsDtoUnsorted);
-        List<EventShortDto> eventsDtoSorted;
-        if (sort == null) {
-            saveStats(request);
-            return eventsDtoUnsorted;
-        } else {
-            switch (sort) {
-                case "EVENT_DATE":
-                    eventsDtoSorted = eventsDtoUnsorted.stream().sorted(
-                        Comparator.comparing(EventShortDto::getEventDate)).collect(Collectors.toList());
-                    break;
-                case "VIEWS":
-                    eventsDtoSorted = eventsDtoUnsorted.stream().sorted(
-                        Comparator.comparing(EventShortDto::getViews,
-                            Comparator.nullsLast(Comparator.reverseOrder()))).collect(Collectors.toList());
-                    break;
-                default:
-                    String message = "Unavailable action: unable to get events. Reason: event sort = " + sort
-                        + " is not supported";
-                    throw new IllegalActionException(message);
-            }
-            saveStats(request);
-            log.info("Get request for events by filters: text = {}, categories = {}, paid = {},  dataTimeStart " +
-                    "= {}, dataTimeEnd = {}, onlyAvailable = {}, sort = {} processed successfully", text,
-                categoryList, paid, dateTimeStart, dateTimeEnd, onlyAvailable, sort);
-            return eventsDtoSorted;
-        }
+        saveStats(request);
+        log.info("Get request for events by filters: text = {}, categories = {}, paid = {},  dataTimeStart " +
+                "= {}, dataTimeEnd = {}, onlyAvailable = {}, sort = {} processed successfully", text,
+            categoryList, paid, dateTimeStart, dateTimeEnd, onlyAvailable, sort);
+        return new CursorPage<>(eventsDtoUnsorted, nextCursor, totalCount);
     }
 
     public EventFullDto updateEventUser(Long userId, Long eventId, UpdateEventUserRequest updateRequest) {
@@ -186,10 +290,12 @@ public class EventService {
             }
         }
         Event saved = eventRepository.save(updateEvent);
+        eventViewsCache.invalidate(eventId);
         log.info("Event id = {} has been updated by initiator = {}", eventId, userId);
         return EventMapper.toEventFullDto(saved);
     }
 
+    @Transactional
     public EventFullDto updateEventAdmin(Long eventId, UpdateEventAdminRequest updateRequest) {
         Event eventFromDb = getEventIfExist(eventId);
         Event updateEvent;
@@ -210,6 +316,8 @@ public class EventService {
                     updateEvent = fixUpdateChanges(eventFromDb, updateRequest);
                     updateEvent.setState(EventState.PUBLISHED);
                     updateEvent.setPublishedOn(publishedOn);
+                    userService.addPublishedEvents(updateEvent.getInitiator(), 1);
+                    eventViewRepository.save(new EventView(eventId, 0L, publishedOn));
                     break;
                 case REJECT_EVENT:
                     checkEventStateIsNotPublished(eventFromDb);
@@ -223,6 +331,7 @@ public class EventService {
             }
         }
         Event saved = eventRepository.save(updateEvent);
+        eventViewsCache.invalidate(eventId);
         log.info("Event id = {} has been updated by admin", eventId);
         return EventMapper.toEventFullDto(saved);
     }
@@ -238,28 +347,36 @@ public class EventService {
         }
     }
 
+    public void addConfirmedRequests(Event event, long delta) {
+        if (delta != 0) {
+            eventRepository.addConfirmedRequests(event.getId(), delta);
+            event.setConfirmedRequests(event.getConfirmedRequests() + delta);
+            log.info("Confirmed requests counter for Event id = {} has been changed by {}", event.getId(), delta);
+        }
+    }
+
+    public void reserveConfirmedRequests(Event event, long count) {
+        if (count == 0) {
+            return;
+        }
+        if (eventRepository.reserveConfirmedRequests(event.getId(), count) == 0) {
+            String message = "Unavailable action: unable to confirm requests. Reason: Event id = " + event.getId() +
+                " participant limit was reached";
+            log.error(message);
+            throw new IllegalActionException(message);
+        }
+        event.setConfirmedRequests(eventRepository.getConfirmedRequests(event.getId()));
+        log.info("{} participant places for Event id = {} have been reserved", count, event.getId());
+    }
+
     public void addViews(List<? extends EventOutputDto> eventOutputDtoList) {
-        LocalDateTime end = LocalDateTime.now(clock);
-        List<EventOutputDto> filteredAndSortedEvents = eventOutputDtoList.stream()
+        List<Long> publishedIds = eventOutputDtoList.stream()
             .filter(event -> event.getState() == EventState.PUBLISHED)
-            .sorted(Comparator.comparing(EventOutputDto::getPublishedOn))
+            .map(EventOutputDto::getId)
+            .distinct()
             .collect(Collectors.toList());
-        if (!filteredAndSortedEvents.isEmpty()) {
-            int size = filteredAndSortedEvents.size();
-            LocalDateTime start = filteredAndSortedEvents.get(0).getPublishedOn();
-            String[] uris = new String[size];
-            for (int i = 0; i < size; i++) {
-                String uri = "/events/";
-                uris[i] = uri + filteredAndSortedEvents.get(i).getId().toString();
-            }
-            Boolean unique = true;
-            List<ViewStats> stats = statsClient.getStats(start, end, uris, unique);
-            Map<Long, Long> idsViews = new HashMap<>();
-            for (ViewStats viewStats : stats) {
-                String uri = viewStats.getUri();
-                String id = uri.substring(uri.lastIndexOf('/') + 1);
-                idsViews.put(Long.parseLong(id), viewStats.getHits());
-            }
+        if (!publishedIds.isEmpty()) {
+            Map<Long, Long> idsViews = eventViewsCache.getViews(publishedIds);
             for (EventOutputDto eventOutputDto : eventOutputDtoList) {
                 if (idsViews.containsKey(eventOutputDto.getId())) {
                     eventOutputDto.setViews(idsViews.get(eventOutputDto.getId()));
@@ -275,20 +392,48 @@ public class EventService {
         hitDto.setUri(request.getRequestURI());
         LocalDateTime now = LocalDateTime.now(clock);
         hitDto.setTimestamp(now);
-        statsClient.saveHit(hitDto);
+        statsClient.recordHit(hitDto);
+    }
+
+    private void saveStats(List<Event> events, HttpServletRequest request) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<EndpointHitDto> hits = events.stream()
+            .map(event -> new EndpointHitDto("main-service", "/events/" + event.getId(), request.getRemoteAddr(), now))
+            .collect(Collectors.toList());
+        statsClient.recordHits(hits);
+    }
+
+    private List<Event> getEventsInRequestedOrder(Long[] ids) {
+        Map<Long, Event> idsEvents = eventRepository.findAllByIdIn(Arrays.asList(ids)).stream()
+            .collect(Collectors.toMap(Event::getId, event -> event));
+        return Arrays.stream(ids)
+            .distinct()
+            .map(idsEvents::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
     private void addViews(EventFullDto eventFullDto) {
+        addViews(eventFullDto, null);
+    }
+
+    private void addViews(EventFullDto eventFullDto, CompletableFuture<Map<Long, Long>> viewsFuture) {
         if (eventFullDto.getState().equals(EventState.PUBLISHED)) {
+            if (eventFullDto.getEventDate().isAfter(LocalDateTime.now(clock))) {
+                Map<Long, Long> idsViews = viewsFuture != null ? ResilientStatsClient.join(viewsFuture) :
+                    eventViewsCache.getViews(List.of(eventFullDto.getId()));
+                Long views = idsViews.get(eventFullDto.getId());
+                eventFullDto.setViews(views);
+                return;
+            }
             LocalDateTime start = eventFullDto.getPublishedOn();
             LocalDateTime end = eventFullDto.getEventDate();
             String[] uris = new String[1];
             uris[0] = "/events/" + eventFullDto.getId().toString();
             Boolean unique = true;
-            List<ViewStats> stats = statsClient.getStats(start, end, uris, unique);
-            if (stats != null && !stats.isEmpty()) {
-                eventFullDto.setViews(stats.get(0).getHits());
-            }
+            statsClient.getStats(start, end, uris, unique)
+                .filter(stats -> !stats.isEmpty())
+                .ifPresent(stats -> eventFullDto.setViews(stats.get(0).getHits()));
         }
     }
 
@@ -350,6 +495,45 @@ public class EventService {
         }
     }
 
+    private String getPublicSortKey(String sort, boolean isFullTextSearch) {
+        if ("EVENT_DATE".equals(sort) || "VIEWS".equals(sort)) {
+            return sort;
+        }
+        if (isFullTextSearch && (sort == null || "RELEVANCE".equals(sort))) {
+            return "RELEVANCE";
+        }
+        return PageCursor.ID;
+    }
+
+    private Sort getPublicSort(String sortKey) {
+        Sort byId = Sort.by("id");
+        switch (sortKey) {
+            case "EVENT_DATE":
+                return Sort.by("eventDate").and(byId);
+            case "VIEWS":
+                return JpaSort.unsafe(Sort.Direction.DESC, "v.views").and(JpaSort.unsafe("v.eventId"));
+            case "RELEVANCE":
+                return JpaSort.unsafe(Sort.Direction.DESC, "fts_rank(e.annotation, e.description, :text)")
+                    .and(byId);
+            default:
+                return byId;
+        }
+    }
+
+    private String getPublicNextCursor(String sortKey, List<Event> events, Long lastViews) {
+        Event last = events.get(events.size() - 1);
+        switch (sortKey) {
+            case "EVENT_DATE":
+                return new PageCursor(sortKey, last.getEventDate(), last.getId()).encode();
+            case "VIEWS":
+                return new PageCursor(sortKey, lastViews, last.getId()).encode();
+            case "RELEVANCE":
+                return null;
+            default:
+                return new PageCursor(sortKey, null, last.getId()).encode();
+        }
+    }
+
     public List<Event> getEventsByIds(List<Long> ids) {
         return eventRepository.findAllByIdIn(ids);
     }
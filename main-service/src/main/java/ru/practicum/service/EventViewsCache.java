@@ -0,0 +1,133 @@
+package ru.practicum.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.ViewStats;
+import ru.practicum.entity.EventView;
+import ru.practicum.repository.EventViewRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class EventViewsCache {
+    private static final String EVENT_URI_PREFIX = "/events/";
+    private static final LocalDateTime VIEWS_FROM = LocalDateTime.of(2000, 1, 1, 0, 0, 0);
+
+    private final ResilientStatsClient statsClient;
+    private final EventViewRepository eventViewRepository;
+    private final Clock clock;
+    private final LoadingCache<Long, Long> cache;
+
+    public EventViewsCache(ResilientStatsClient statsClient, EventViewRepository eventViewRepository, Clock clock,
+                           MeterRegistry meterRegistry,
+                           @Value("${event.views.cache.ttl:5m}") Duration ttl,
+                           @Value("${event.views.cache.refresh-after:1m}") Duration refreshAfter,
+                           @Value("${event.views.cache.max-size:10000}") long maxSize) {
+        this.statsClient = statsClient;
+        this.eventViewRepository = eventViewRepository;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .refreshAfterWrite(refreshAfter)
+            .recordStats()
+            .build(new CacheLoader<>() {
+                @Override
+                public Long load(Long eventId) {
+                    return loadViews(List.of(eventId))
+                        .orElseGet(() -> getLastKnownViews(List.of(eventId)))
+                        .get(eventId);
+                }
+
+                @Override
+                public Long reload(Long eventId, Long oldValue) {
+                    return loadViews(List.of(eventId))
+                        .map(idsViews -> idsViews.get(eventId))
+                        .orElse(oldValue);
+                }
+            });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "event.views");
+    }
+
+    public Map<Long, Long> getViews(Collection<Long> eventIds) {
+        return ResilientStatsClient.join(getViewsAsync(eventIds));
+    }
+
+    public CompletableFuture<Map<Long, Long>> getViewsAsync(Collection<Long> eventIds) {
+        Map<Long, Long> idsViews = new HashMap<>(cache.getAllPresent(eventIds));
+        List<Long> missingIds = eventIds.stream()
+            .filter(id -> !idsViews.containsKey(id))
+            .distinct()
+            .collect(Collectors.toList());
+        if (missingIds.isEmpty()) {
+            return CompletableFuture.completedFuture(idsViews);
+        }
+        return loadViewsAsync(missingIds).thenApply(loaded -> {
+            if (loaded.isPresent()) {
+                cache.putAll(loaded.get());
+                idsViews.putAll(loaded.get());
+            } else {
+                idsViews.putAll(getLastKnownViews(missingIds));
+            }
+            return idsViews;
+        });
+    }
+
+    public Map<Long, Long> reloadViews(Collection<Long> eventIds) {
+        Map<Long, Long> idsViews = loadViews(new ArrayList<>(eventIds))
+            .orElseThrow(() -> new IllegalStateException("stats-service is unavailable"));
+        cache.putAll(idsViews);
+        return idsViews;
+    }
+
+    public void invalidate(Long eventId) {
+        cache.invalidate(eventId);
+    }
+
+    public void discard(Long eventId, CompletableFuture<Map<Long, Long>> viewsFuture) {
+        viewsFuture.whenComplete((idsViews, exp) -> cache.invalidate(eventId));
+    }
+
+    private Optional<Map<Long, Long>> loadViews(List<Long> eventIds) {
+        return ResilientStatsClient.join(loadViewsAsync(eventIds));
+    }
+
+    private CompletableFuture<Optional<Map<Long, Long>>> loadViewsAsync(List<Long> eventIds) {
+        String[] uris = eventIds.stream()
+            .map(id -> EVENT_URI_PREFIX + id)
+            .toArray(String[]::new);
+        return statsClient.getStatsAsync(VIEWS_FROM, LocalDateTime.now(clock), uris, true)
+            .thenApply(stats -> stats.map(statsList -> {
+                Map<Long, Long> idsViews = new HashMap<>();
+                for (Long eventId : eventIds) {
+                    idsViews.put(eventId, 0L);
+                }
+                for (ViewStats viewStats : statsList) {
+                    String uri = viewStats.getUri();
+                    idsViews.put(Long.parseLong(uri.substring(uri.lastIndexOf('/') + 1)), viewStats.getHits());
+                }
+                log.info("Views of {} events have been loaded from stats-service", eventIds.size());
+                return idsViews;
+            }));
+    }
+
+    private Map<Long, Long> getLastKnownViews(List<Long> eventIds) {
+        Map<Long, Long> idsViews = eventViewRepository.findAllById(eventIds).stream()
+            .collect(Collectors.toMap(EventView::getEventId, EventView::getViews));
+        log.info("Stats-service is unavailable, last known views of {} of {} events are used", idsViews.size(),
+            eventIds.size());
+        return idsViews;
+    }
+}
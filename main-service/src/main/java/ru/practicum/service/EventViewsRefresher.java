@@ -0,0 +1,71 @@
+package ru.practicum.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.entity.EventView;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventViewRepository;
+import ru.practicum.state.EventState;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class EventViewsRefresher {
+    private final EventRepository eventRepository;
+    private final EventViewRepository eventViewRepository;
+    private final EventViewsCache eventViewsCache;
+    private final Clock clock;
+    private final int batchSize;
+
+    public EventViewsRefresher(EventRepository eventRepository, EventViewRepository eventViewRepository,
+                               EventViewsCache eventViewsCache, Clock clock,
+                               @Value("${event.views.refresh-batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.eventViewRepository = eventViewRepository;
+        this.eventViewsCache = eventViewsCache;
+        this.clock = clock;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${event.views.refresh-cron:0 */5 * * * *}")
+    public void refresh() {
+        Pageable pageable = PageRequest.of(0, batchSize, Sort.by("id"));
+        int refreshed = 0;
+        Slice<Long> ids;
+        try {
+            do {
+                ids = eventRepository.findIdsByState(EventState.PUBLISHED, pageable);
+                if (ids.hasContent()) {
+                    refreshed += saveViews(eventViewsCache.reloadViews(ids.getContent()));
+                }
+                pageable = ids.nextPageable();
+            } while (ids.hasNext());
+            log.info("Materialized views of {} published events have been refreshed", refreshed);
+        } catch (RuntimeException exp) {
+            log.error("Materialized views refresh stopped after {} events. Reason: {}", refreshed, exp.getMessage());
+        }
+    }
+
+    private int saveViews(Map<Long, Long> idsViews) {
+        LocalDateTime updatedOn = LocalDateTime.now(clock);
+        List<EventView> eventViews = idsViews.entrySet().stream()
+            .map(idViews -> new EventView(idViews.getKey(), idViews.getValue(), updatedOn))
+            .collect(Collectors.toList());
+        eventViewRepository.saveAll(eventViews);
+        return eventViews.size();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.repository.InitiatorStatsRepository;
+
+@Component
+@Slf4j
+public class InitiatorStatsReconciler {
+    private final InitiatorStatsRepository initiatorStatsRepository;
+
+    public InitiatorStatsReconciler(InitiatorStatsRepository initiatorStatsRepository) {
+        this.initiatorStatsRepository = initiatorStatsRepository;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${initiators.stats.reconcile-cron:0 45 3 * * *}")
+    public int reconcile() {
+        int created = initiatorStatsRepository.insertMissingStats();
+        int repaired = initiatorStatsRepository.reconcileStats();
+        if (created > 0 || repaired > 0) {
+            log.warn("Initiator leaderboard has been repaired: {} rows created, {} rows recounted", created, repaired);
+        } else {
+            log.info("Initiator leaderboard is consistent with events and subscriptions");
+        }
+        return created + repaired;
+    }
+}
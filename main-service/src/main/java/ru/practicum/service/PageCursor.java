@@ -0,0 +1,63 @@
+package ru.practicum.service;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+public class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String ID = "ID";
+    private static final String SEPARATOR = "|";
+
+    private final String sort;
+    private final String value;
+    private final Long id;
+
+    public PageCursor(String sort, Object value, Long id) {
+        this.sort = sort;
+        this.value = value != null ? value.toString() : "";
+        this.id = id;
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Cursor = " + cursor + " is malformed");
+            }
+            return new PageCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException exp) {
+            throw new IllegalArgumentException("Cursor = " + cursor + " is malformed");
+        }
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public PageCursor checkSort(String expectedSort) {
+        if (!sort.equals(expectedSort)) {
+            throw new IllegalArgumentException("Cursor sort = " + sort + " does not match request sort = " +
+                expectedSort);
+        }
+        return this;
+    }
+
+    public LocalDateTime getValueAsDateTime() {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException exp) {
+            throw new IllegalArgumentException("Cursor value = " + value + " is not a date");
+        }
+    }
+
+    public Long getValueAsLong() {
+        return Long.parseLong(value);
+    }
+}
@@ -2,11 +2,20 @@ package ru.practicum.service;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public class PageRequestSpecifier {
     public static Pageable getPageRequestWithoutSort(Integer from, Integer size) {
         return PageRequest.of(from > 0 ? from / size : 0, size);
     }
+
+    public static Pageable getPageRequest(Integer from, Integer size, Sort sort) {
+        return PageRequest.of(from > 0 ? from / size : 0, size, sort);
+    }
+
+    public static Pageable getPageRequest(PageCursor after, Integer from, Integer size, Sort sort) {
+        return after != null ? PageRequest.of(0, size, sort) : getPageRequest(from, size, sort);
+    }
 }
 
 
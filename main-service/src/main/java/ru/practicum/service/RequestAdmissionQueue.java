@@ -0,0 +1,152 @@
+package ru.practicum.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.output.AdmissionTicketDto;
+import ru.practicum.dto.output.ParticipationRequestDto;
+import ru.practicum.exception.IllegalActionException;
+import ru.practicum.exception.NotFoundException;
+import ru.practicum.state.AdmissionState;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class RequestAdmissionQueue {
+    private final RequestService requestService;
+    private final Cache<String, AdmissionTicketDto> tickets;
+    private final List<BlockingQueue<AdmissionTicketDto>> shards;
+    private final List<Thread> workers;
+    private final int batchSize;
+    private volatile boolean running = true;
+
+    public RequestAdmissionQueue(RequestService requestService, MeterRegistry meterRegistry,
+                                 @Value("${requests.admission.shards:4}") int shardCount,
+                                 @Value("${requests.admission.queue-capacity:10000}") int capacity,
+                                 @Value("${requests.admission.batch-size:100}") int batchSize,
+                                 @Value("${requests.admission.ticket-ttl:10m}") Duration ticketTtl) {
+        this.requestService = requestService;
+        this.batchSize = batchSize;
+        this.tickets = Caffeine.newBuilder()
+            .expireAfterWrite(ticketTtl)
+            .build();
+        this.shards = new ArrayList<>(shardCount);
+        this.workers = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            BlockingQueue<AdmissionTicketDto> shard = new LinkedBlockingQueue<>(capacity);
+            Thread worker = new Thread(() -> admitLoop(shard), "request-admission-" + i);
+            worker.setDaemon(true);
+            shards.add(shard);
+            workers.add(worker);
+            worker.start();
+        }
+        Gauge.builder("requests.admission.queue.size", shards, queues -> queues.stream()
+                .mapToInt(BlockingQueue::size)
+                .sum())
+            .register(meterRegistry);
+    }
+
+    public AdmissionTicketDto submit(Long userId, Long eventId) {
+        AdmissionTicketDto ticket = new AdmissionTicketDto(UUID.randomUUID().toString(), eventId, userId,
+            AdmissionState.QUEUED, null, null);
+        tickets.put(ticket.getId(), ticket);
+        if (!shards.get(Math.floorMod(eventId.hashCode(), shards.size())).offer(ticket)) {
+            tickets.invalidate(ticket.getId());
+            String message = "Unavailable action: unable to queue request. Reason: admission queue for Event id = " +
+                eventId + " is full";
+            log.error(message);
+            throw new IllegalActionException(message);
+        }
+        log.info("Request of User id = {} for Event id = {} has been queued, ticket = {}", userId, eventId,
+            ticket.getId());
+        return ticket;
+    }
+
+    public AdmissionTicketDto getTicket(Long userId, String ticketId) {
+        AdmissionTicketDto ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null || !ticket.getRequester().equals(userId)) {
+            String message = "Ticket with id=" + ticketId + " was not found";
+            log.error(message);
+            throw new NotFoundException(message);
+        }
+        return ticket;
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        int lost = shards.stream().mapToInt(BlockingQueue::size).sum();
+        if (lost > 0) {
+            log.warn("Request admission queue is stopped, {} queued requests have not been decided", lost);
+        }
+    }
+
+    private void admitLoop(BlockingQueue<AdmissionTicketDto> shard) {
+        while (running) {
+            try {
+                List<AdmissionTicketDto> batch = new ArrayList<>(batchSize);
+                batch.add(shard.take());
+                shard.drainTo(batch, batchSize - 1);
+                Map<Long, List<AdmissionTicketDto>> byEvent = batch.stream()
+                    .collect(Collectors.groupingBy(AdmissionTicketDto::getEvent, LinkedHashMap::new,
+                        Collectors.toList()));
+                byEvent.forEach(this::admit);
+            } catch (InterruptedException exp) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException exp) {
+                log.error("Unexpected error in request admission worker", exp);
+            }
+        }
+    }
+
+    private void admit(Long eventId, List<AdmissionTicketDto> eventTickets) {
+        List<Long> userIds = eventTickets.stream()
+            .map(AdmissionTicketDto::getRequester)
+            .collect(Collectors.toList());
+        List<ParticipationRequestDto> admitted;
+        try {
+            admitted = requestService.admitQueuedRequests(eventId, userIds);
+        } catch (RuntimeException exp) {
+            log.warn("Unable to admit {} queued requests for Event id = {} at once, deciding them one by one: {}",
+                eventTickets.size(), eventId, exp.getMessage());
+            eventTickets.forEach(this::admitOne);
+            return;
+        }
+        for (int i = 0; i < eventTickets.size(); i++) {
+            if (i < admitted.size()) {
+                decide(eventTickets.get(i), AdmissionState.ADMITTED, admitted.get(i), null);
+            } else {
+                decide(eventTickets.get(i), AdmissionState.REJECTED, null,
+                    "Unavailable action: unable to create request. Reason: Event id = " + eventId + " participant " +
+                        "limit was reached");
+            }
+        }
+    }
+
+    private void admitOne(AdmissionTicketDto ticket) {
+        try {
+            decide(ticket, AdmissionState.ADMITTED,
+                requestService.addParticipationRequest(ticket.getRequester(), ticket.getEvent()), null);
+        } catch (RuntimeException exp) {
+            decide(ticket, AdmissionState.REJECTED, null, exp.getMessage());
+        }
+    }
+
+    private void decide(AdmissionTicketDto ticket, AdmissionState state, ParticipationRequestDto request,
+                        String reason) {
+        tickets.put(ticket.getId(), new AdmissionTicketDto(ticket.getId(), ticket.getEvent(), ticket.getRequester(),
+            state, request, reason));
+    }
+}
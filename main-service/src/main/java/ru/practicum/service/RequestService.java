@@ -2,6 +2,7 @@ package ru.practicum.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.state.EventState;
 import ru.practicum.exception.IllegalActionException;
 import ru.practicum.exception.NotFoundException;
@@ -39,6 +40,7 @@ public class RequestService {
         this.clock = clock;
     }
 
+    @Transactional
     public ParticipationRequestDto addParticipationRequest(Long userId, Long eventId) {
         User user = userService.getUserIfExists(userId);
         Event event = eventService.getEventIfExist(eventId);
@@ -60,7 +62,11 @@ public class RequestService {
         } else {
             state = RequestState.CONFIRMED;
         }
-        checkEventsParticipantLimitIsNotReached(event);
+        if (state == RequestState.CONFIRMED) {
+            eventService.reserveConfirmedRequests(event, 1);
+        } else {
+            checkEventsParticipantLimitIsNotReached(event);
+        }
         LocalDateTime created = LocalDateTime.now(clock);
         Request request = RequestMapper.toRequest(user, event, created, state);
         Request saved = requestRepository.save(request);
@@ -68,6 +74,57 @@ public class RequestService {
         return RequestMapper.toParticipationRequestDto(saved);
     }
 
+    @Transactional
+    public List<ParticipationRequestDto> admitQueuedRequests(Long eventId, List<Long> userIds) {
+        Event event = eventService.getEventIfExist(eventId);
+        if (!event.getState().equals(EventState.PUBLISHED)) {
+            String message = "Unavailable action: unable to create request. Reason: Event id = " + event.getId() + " " +
+                "is not published";
+            log.error(message);
+            throw new IllegalActionException(message);
+        }
+        if (userIds.stream().distinct().count() != userIds.size()) {
+            String message = "Unavailable action: unable to admit queued requests. Reason: duplicate requesters for " +
+                "Event id = " + eventId;
+            log.error(message);
+            throw new IllegalActionException(message);
+        }
+        List<User> users = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            User user = userService.getUserIfExists(userId);
+            if (isUserEventInitiator(user, event)) {
+                String message = "Unavailable action: unable to create request. Reason: User id = " + user.getId() +
+                    " is Event id = " + event.getId() + "initiator";
+                log.error(message);
+                throw new IllegalActionException(message);
+            }
+            users.add(user);
+        }
+        if (isEventsParticipantLimitReached(event)) {
+            return List.of();
+        }
+        RequestState state;
+        int admitted = users.size();
+        if (isEventNeedConfirmationOfRequests(event)) {
+            state = RequestState.PENDING;
+        } else {
+            state = RequestState.CONFIRMED;
+            if (event.getParticipantLimit() != 0) {
+                admitted = (int) Math.min(admitted, event.getParticipantLimit() - event.getConfirmedRequests());
+            }
+            eventService.reserveConfirmedRequests(event, admitted);
+        }
+        LocalDateTime created = LocalDateTime.now(clock);
+        List<Request> requests = users.subList(0, admitted).stream()
+            .map(user -> RequestMapper.toRequest(user, event, created, state))
+            .collect(Collectors.toList());
+        List<Request> saved = requestRepository.saveAll(requests);
+        log.info("{} of {} queued requests for Event id = {} have been admitted", saved.size(), userIds.size(),
+            eventId);
+        return RequestMapper.toParticipationRequestDtoList(saved);
+    }
+
+    @Transactional
     public ParticipationRequestDto cancelRequest(Long userId, Long requestId) {
         userService.getUserIfExists(userId);
         Request request = getRequestIfExist(requestId);
@@ -78,8 +135,12 @@ public class RequestService {
             log.error(message);
             throw new IllegalActionException(message);
         } else {
+            boolean wasConfirmed = request.getState() == RequestState.CONFIRMED;
             request.setState(RequestState.CANCELED);
             Request canceled = requestRepository.save(request);
+            if (wasConfirmed) {
+                eventService.addConfirmedRequests(request.getEvent(), -1);
+            }
             log.info("Request id = {} has been canceled by requests initiator", requestId);
             return RequestMapper.toParticipationRequestDto(canceled);
         }
@@ -108,6 +169,7 @@ public class RequestService {
         return RequestMapper.toParticipationRequestDtoList(requests);
     }
 
+    @Transactional
     public EventRequestStatusUpdateResult changeRequestStatus(Long userId, Long eventId,
                                                               EventRequestStatusUpdateRequest updateRequest) {
         User user = userService.getUserIfExists(userId);
@@ -132,20 +194,16 @@ public class RequestService {
         switch (updateRequest.getStatus()) {
             case CONFIRMED:
                 checkEventsParticipantLimitIsNotReached(updateRequest, event);
-                requestRepository.updateRequestStateByIds(updateRequest.getRequestIds(), RequestState.CONFIRMED);
+                eventService.reserveConfirmedRequests(event, updateRequest.getRequestIds().size());
+                updatePendingRequestsState(updateRequest.getRequestIds(), RequestState.CONFIRMED);
                 confirmedRequests = requestRepository.findAllByIdInAndState(updateRequest.getRequestIds(),
                     RequestState.CONFIRMED);
-                try {
-                    checkEventsParticipantLimitIsNotReached(event);
-                } catch (IllegalActionException exp) {
-                    List<Long> needToReject =
-                        requestRepository.findAllByState(RequestState.PENDING).stream().map(Request::getId).collect(Collectors.toList());
-                    requestRepository.rejectRequests(RequestState.REJECTED, RequestState.PENDING);
-                    rejectedRequest = requestRepository.findAllByIdInAndState(needToReject, RequestState.REJECTED);
+                if (isEventsParticipantLimitReached(event)) {
+                    rejectedRequest = rejectPendingRequests(event);
                 }
                 break;
             case REJECTED:
-                requestRepository.updateRequestStateByIds(updateRequest.getRequestIds(), RequestState.REJECTED);
+                updatePendingRequestsState(updateRequest.getRequestIds(), RequestState.REJECTED);
                 rejectedRequest = requestRepository.findAllByIdInAndState(updateRequest.getRequestIds(),
                     RequestState.REJECTED);
                 break;
@@ -174,29 +232,54 @@ public class RequestService {
         }
     }
 
+    private void updatePendingRequestsState(List<Long> requestIds, RequestState state) {
+        int updated = requestRepository.updatePendingRequestStateByIds(requestIds, state);
+        if (updated != requestIds.size()) {
+            String message = "Unavailable action: unable to change requests status. Reason: not all requests are " +
+                "PENDING";
+            log.error(message);
+            throw new IllegalActionException(message);
+        }
+    }
+
     private boolean isUserEventInitiator(User user, Event event) {
         return event.getInitiator().equals(user);
     }
 
+    private List<Request> rejectPendingRequests(Event event) {
+        List<Request> pending = requestRepository.findAllByEventIdAndState(event.getId(), RequestState.PENDING);
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        int rejected = requestRepository.rejectPendingRequests(event.getId());
+        pending.forEach(request -> request.setState(RequestState.REJECTED));
+        log.info("{} pending requests for Event id = {} have been rejected, participant limit was reached", rejected,
+            event.getId());
+        return pending;
+    }
+
     private void checkEventsParticipantLimitIsNotReached(Event event) {
+        if (isEventsParticipantLimitReached(event)) {
+            String message = "Unavailable action: unable to create request. Reason: Event id = " + event.getId() + " " +
+                "participant limit was reached";
+            log.error(message);
+            throw new IllegalActionException(message);
+        }
+    }
+
+    private boolean isEventsParticipantLimitReached(Event event) {
         int participantLimit = event.getParticipantLimit();
-        if (participantLimit != 0) {
-            int minLimit = 1;
-            int confirmedRequests = event.getRequests().size();
-            boolean isLimitReached = (participantLimit - confirmedRequests) < minLimit;
-            if (isLimitReached) {
-                String message = "Unavailable action: unable to create request. Reason: Event id = " + event.getId() + " " +
-                    "participant limit was reached";
-                log.error(message);
-                throw new IllegalActionException(message);
-            }
+        if (participantLimit == 0) {
+            return false;
         }
+        int minLimit = 1;
+        return (participantLimit - event.getConfirmedRequests()) < minLimit;
     }
 
     private void checkEventsParticipantLimitIsNotReached(EventRequestStatusUpdateRequest updateRequest, Event event) {
         int participantLimit = event.getParticipantLimit();
         if (participantLimit != 0) {
-            int maxLimit = participantLimit - event.getRequests().size();
+            long maxLimit = participantLimit - event.getConfirmedRequests();
             boolean isLimitReached = updateRequest.getRequestIds().size() > maxLimit;
             if (isLimitReached) {
                 String message =
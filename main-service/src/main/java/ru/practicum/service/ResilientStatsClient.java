@@ -0,0 +1,159 @@
+package ru.practicum.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import ru.practicum.EndpointHitDto;
+import ru.practicum.StatsClient;
+import ru.practicum.ViewStats;
+import ru.practicum.state.CircuitState;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+@Component
+@Slf4j
+public class ResilientStatsClient {
+    private static final String FALLBACKS_METRIC = "stats.client.fallbacks";
+
+    private final StatsClient statsClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final Duration callTimeout;
+    private final Counter circuitOpenFallbacks;
+    private final Counter bulkheadFullFallbacks;
+    private final Counter timeoutFallbacks;
+    private final Counter errorFallbacks;
+    private final Counter droppedHits;
+
+    public ResilientStatsClient(StatsClient statsClient, MeterRegistry meterRegistry, Clock clock,
+                                @Value("${stats.resilience.failure-threshold:5}") int failureThreshold,
+                                @Value("${stats.resilience.open-duration:30s}") Duration openDuration,
+                                @Value("${stats.resilience.half-open-probes:1}") int halfOpenProbes,
+                                @Value("${stats.resilience.max-concurrent-calls:16}") int maxConcurrentCalls,
+                                @Value("${stats.resilience.call-timeout:500ms}") Duration callTimeout) {
+        this.statsClient = statsClient;
+        this.circuitBreaker = new CircuitBreaker("stats-service", failureThreshold, openDuration, halfOpenProbes,
+            clock);
+        this.callTimeout = callTimeout;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.circuitOpenFallbacks = registerFallbacksCounter(meterRegistry, "circuit_open");
+        this.bulkheadFullFallbacks = registerFallbacksCounter(meterRegistry, "bulkhead_full");
+        this.timeoutFallbacks = registerFallbacksCounter(meterRegistry, "timeout");
+        this.errorFallbacks = registerFallbacksCounter(meterRegistry, "error");
+        this.droppedHits = Counter.builder("stats.client.hits.dropped")
+            .description("Hits not sent to stats-service while it was unavailable")
+            .register(meterRegistry);
+        Gauge.builder("stats.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+            .description("Stats-service circuit state: 0 - closed, 1 - open, 2 - half-open")
+            .register(meterRegistry);
+    }
+
+    public Optional<List<ViewStats>> getStats(LocalDateTime start, LocalDateTime end, String[] uris,
+                                              Boolean unique) {
+        return join(getStatsAsync(start, end, uris, unique));
+    }
+
+    public CompletableFuture<Optional<List<ViewStats>>> getStatsAsync(LocalDateTime start, LocalDateTime end,
+                                                                      String[] uris, Boolean unique) {
+        if (!circuitBreaker.tryAcquire()) {
+            circuitOpenFallbacks.increment();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.release();
+            bulkheadFullFallbacks.increment();
+            log.warn("Stats-service call rejected, {} calls are already in progress", maxConcurrentCalls);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        CompletableFuture<List<ViewStats>> call;
+        try {
+            call = statsClient.getStatsAsync(start, end, uris, unique);
+        } catch (RuntimeException exp) {
+            call = CompletableFuture.failedFuture(exp);
+        }
+        call.whenComplete((stats, exp) -> bulkhead.release());
+        return call.copy()
+            .orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .handle((stats, exp) -> {
+                if (exp == null) {
+                    circuitBreaker.onSuccess();
+                    return Optional.of(stats == null ? List.<ViewStats>of() : stats);
+                }
+                Throwable cause = exp instanceof CompletionException ? exp.getCause() : exp;
+                if (cause instanceof TimeoutException) {
+                    circuitBreaker.onFailure();
+                    timeoutFallbacks.increment();
+                    log.warn("Stats-service has not answered in {} ms", callTimeout.toMillis());
+                    return Optional.empty();
+                }
+                if (cause instanceof RestClientException && !(cause instanceof HttpClientErrorException)) {
+                    circuitBreaker.onFailure();
+                    errorFallbacks.increment();
+                    log.warn("Stats-service call failed: {}", cause.getMessage());
+                    return Optional.empty();
+                }
+                circuitBreaker.release();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+            });
+    }
+
+    public void recordHit(EndpointHitDto hitDto) {
+        if (circuitBreaker.isOpen()) {
+            droppedHits.increment();
+            return;
+        }
+        try {
+            statsClient.recordHit(hitDto);
+        } catch (RestClientException exp) {
+            droppedHits.increment();
+            log.warn("Hit has not been sent to stats-service: {}", exp.getMessage());
+        }
+    }
+
+    public void recordHits(List<EndpointHitDto> hits) {
+        if (circuitBreaker.isOpen()) {
+            droppedHits.increment(hits.size());
+            return;
+        }
+        try {
+            statsClient.recordHits(hits);
+        } catch (RestClientException exp) {
+            droppedHits.increment(hits.size());
+            log.warn("{} hits have not been sent to stats-service: {}", hits.size(), exp.getMessage());
+        }
+    }
+
+    public CircuitState getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exp) {
+            if (exp.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exp.getCause();
+            }
+            throw exp;
+        }
+    }
+
+    private Counter registerFallbacksCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(FALLBACKS_METRIC)
+            .description("Stats-service calls answered with a fallback")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -2,13 +2,18 @@ package ru.practicum.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.dto.output.CursorPage;
 import ru.practicum.dto.output.EventInitiatorDto;
 import ru.practicum.dto.output.SubscriptionDto;
+import ru.practicum.entity.InitiatorStats;
 import ru.practicum.entity.Subscription;
 import ru.practicum.exception.IllegalActionException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.mapper.SubscriptionMapper;
+import ru.practicum.repository.InitiatorStatsRepository;
 import ru.practicum.repository.SubscriptionRepository;
 import ru.practicum.repository.UserRepository;
 import ru.practicum.dto.reversible.UserDto;
@@ -21,22 +26,30 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 @Service
 @Slf4j
 public class UserService {
+    private static final String MOST_INITIATIVE = "MOST_INITIATIVE";
+    private static final String MOST_POPULAR = "MOST_POPULAR";
+
     private final UserRepository userRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final InitiatorStatsRepository initiatorStatsRepository;
 
-    public UserService(UserRepository userRepository, SubscriptionRepository subscriptionRepository) {
+    public UserService(UserRepository userRepository, SubscriptionRepository subscriptionRepository,
+                       InitiatorStatsRepository initiatorStatsRepository) {
         this.userRepository = userRepository;
         this.subscriptionRepository = subscriptionRepository;
+        this.initiatorStatsRepository = initiatorStatsRepository;
     }
 
     public UserDto registerUser(UserDto userDto) {
         User newUser = UserMapper.toUser(userDto);
         newUser.setProfile(UserProfileState.PUBLIC);
         User saved = userRepository.save(newUser);
+        initiatorStatsRepository.save(new InitiatorStats(saved.getId(), 0L, 0L));
         log.info("User value = {} has been saved, id = {}", userDto, saved.getId());
         return UserMapper.toUserDto(saved);
     }
@@ -47,18 +60,25 @@ public class UserService {
         log.info("User with id={} has been deleted", userId);
     }
 
-    public List<UserDto> getUsers(Long[] ids, Integer from, Integer size) {
-        Pageable pageRequest = PageRequestSpecifier.getPageRequestWithoutSort(from, size);
-        List<User> users;
+    public CursorPage<UserDto> getUsers(Long[] ids, String cursor, Integer from, Integer size) {
+        PageCursor after = cursor != null ? PageCursor.decode(cursor).checkSort(PageCursor.ID) : null;
+        Pageable pageRequest = PageRequestSpecifier.getPageRequest(after, from, size, Sort.by("id"));
+        Long afterId = after != null ? after.getId() : 0L;
+        Slice<User> users;
+        LongSupplier totalCount;
         if (ids == null) {
-            users = userRepository.findAll(pageRequest).getContent();
+            users = userRepository.findAllByIdGreaterThan(afterId, pageRequest);
+            totalCount = userRepository::count;
             log.info("Get request for Users list by ids = null processed successfully");
         } else {
-            users = userRepository.getUsersByIdIn(Arrays.asList(ids), pageRequest).getContent();
+            List<Long> idList = Arrays.asList(ids);
+            users = userRepository.getUsersByIdInAndIdGreaterThan(idList, afterId, pageRequest);
+            totalCount = () -> userRepository.countByIdIn(idList);
             log.info("Get request for Users list by ids = {} processed successfully", Arrays.toString(ids));
         }
-        return UserMapper.toUserDtoList(users);
-
+        String nextCursor = users.hasNext() ? new PageCursor(PageCursor.ID, null,
+            users.getContent().get(users.getNumberOfElements() - 1).getId()).encode() : null;
+        return new CursorPage<>(UserMapper.toUserDtoList(users.getContent()), nextCursor, totalCount);
     }
 
     public void checkUserExists(Long userId) {
@@ -101,8 +121,9 @@ public class UserService {
             throw new IllegalActionException(message);
         } else {
             if (profile.equals(UserProfileState.PUBLIC)) {
-                subscriptionRepository.confirmedSubscriptions(SubscriptionState.CONFIRMED, SubscriptionState.PENDING,
-                    user);
+                int confirmed = subscriptionRepository.confirmedSubscriptions(SubscriptionState.CONFIRMED,
+                    SubscriptionState.PENDING, user);
+                addConfirmedSubscribers(user, confirmed);
             }
             user.setProfile(profile);
             User saved = userRepository.save(user);
@@ -111,23 +132,49 @@ public class UserService {
         }
     }
 
-    public List<EventInitiatorDto> getInitiators(String sort, UserProfileState profile, Integer from, Integer size) {
-        Pageable pageRequest = PageRequestSpecifier.getPageRequestWithoutSort(from, size);
-        List<EventInitiatorDto> initiatorsSorted;
+    public CursorPage<EventInitiatorDto> getInitiators(String sort, UserProfileState profile, String cursor,
+                                                       Integer from, Integer size) {
+        PageCursor after = cursor != null ? PageCursor.decode(cursor).checkSort(sort) : null;
+        Pageable pageRequest = PageRequestSpecifier.getPageRequest(after, from, size, Sort.unsorted());
+        Long afterCount = after != null ? after.getValueAsLong() : Long.MAX_VALUE;
+        Long afterId = after != null ? after.getId() : Long.MAX_VALUE;
+        Slice<EventInitiatorDto> initiatorsSorted;
         switch (sort) {
-            case "MOST_INITIATIVE":
-                initiatorsSorted = userRepository.findMostInitiative(profile, pageRequest).getContent();
+            case MOST_INITIATIVE:
+                initiatorsSorted = initiatorStatsRepository.findMostInitiative(profile, afterCount, afterId,
+                    pageRequest);
                 break;
-            case "MOST_POPULAR":
-                initiatorsSorted = userRepository.findMostPopular(profile, pageRequest).getContent();
+            case MOST_POPULAR:
+                initiatorsSorted = initiatorStatsRepository.findMostPopular(profile, afterCount, afterId,
+                    pageRequest);
                 break;
             default:
                 String message = "Unavailable action: unable to get events initiators. Reason: sort = " + sort + " " +
                     "is not supported";
                 throw new IllegalActionException(message);
         }
+        String nextCursor = null;
+        if (initiatorsSorted.hasNext()) {
+            EventInitiatorDto last = initiatorsSorted.getContent().get(initiatorsSorted.getNumberOfElements() - 1);
+            nextCursor = new PageCursor(sort, sort.equals(MOST_INITIATIVE) ? last.getEvents() : last.getSubscribers(),
+                last.getId()).encode();
+        }
         log.info("Get request for Initiators: sort = {}, profile = {}, processed successfully", sort, profile);
-        return initiatorsSorted;
+        return new CursorPage<>(initiatorsSorted.getContent(), nextCursor,
+            () -> initiatorStatsRepository.countByProfile(profile));
+    }
+
+    public void addPublishedEvents(User initiator, long delta) {
+        initiatorStatsRepository.addPublishedEvents(initiator.getId(), delta);
+        log.info("Published events counter for User id = {} has been changed by {}", initiator.getId(), delta);
+    }
+
+    private void addConfirmedSubscribers(User initiator, long delta) {
+        if (delta != 0) {
+            initiatorStatsRepository.addConfirmedSubscribers(initiator.getId(), delta);
+            log.info("Confirmed subscribers counter for User id = {} has been changed by {}", initiator.getId(),
+                delta);
+        }
     }
 
 
@@ -147,6 +194,9 @@ public class UserService {
                 break;
         }
         Subscription saved = subscriptionRepository.save(newSubscription);
+        if (saved.getState() == SubscriptionState.CONFIRMED) {
+            addConfirmedSubscribers(subscribesTo, 1);
+        }
         log.info("Subscription from User id = {} to User id = {} has been saved, id = {}", subscriberId,
             subscribesToId, saved.getId());
         return SubscriptionMapper.toSubscriptionDto(saved);
@@ -155,6 +205,9 @@ public class UserService {
     public void deleteSubscription(Long subscriberId, Long subscribedToId) {
         Subscription subscriptionFromDb = getSubscriptionIfExists(subscriberId, subscribedToId);
         subscriptionRepository.deleteById(subscriptionFromDb.getId());
+        if (subscriptionFromDb.getState() == SubscriptionState.CONFIRMED) {
+            addConfirmedSubscribers(subscriptionFromDb.getSubscribedTo(), -1);
+        }
         log.info("Subscription from User id = {} to User id = {} has been deleted by subscriber", subscriberId, subscribedToId);
     }
 
@@ -213,6 +266,9 @@ public class UserService {
                         throw new IllegalActionException(message);
                 }
                 Subscription saved = subscriptionRepository.save(subscription);
+                if (state == SubscriptionState.CONFIRMED) {
+                    addConfirmedSubscribers(initiator, 1);
+                }
                 log.info("Subscriptions status from User id = {} to User id = {} has been change to = {} by initiator",
                     subscriberId, initiatorId, state);
                 return SubscriptionMapper.toSubscriptionDto(saved);
@@ -0,0 +1,5 @@
+package ru.practicum.state;
+
+public enum AdmissionState {
+    QUEUED, ADMITTED, REJECTED
+}
@@ -0,0 +1,5 @@
+package ru.practicum.state;
+
+public enum CircuitState {
+    CLOSED, OPEN, HALF_OPEN
+}
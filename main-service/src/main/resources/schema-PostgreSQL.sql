@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_events_search ON events
+    USING GIN (to_tsvector('russian', coalesce(annotation, '') || ' ' || coalesce(description, '')));
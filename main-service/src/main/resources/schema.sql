@@ -35,6 +35,7 @@ CREATE TABLE IF NOT EXISTS events
     title              VARCHAR(120)                            not null,
     lat                FLOAT                                   NOT NULL,
     lon                FLOAT                                   NOT NULL,
+    confirmed_requests BIGINT                  DEFAULT 0       NOT NULL,
     CONSTRAINT pk_events PRIMARY KEY (id),
     CONSTRAINT fk_users_e FOREIGN KEY (user_id) REFERENCES users (id),
     CONSTRAINT fk_categories_e FOREIGN KEY (category_id) REFERENCES categories (id),
@@ -45,6 +46,28 @@ CREATE TABLE IF NOT EXISTS events
     CONSTRAINT enum_state_e CHECK (state IN ('PENDING', 'PUBLISHED', 'CANCELED'))
     );
 
+ALTER TABLE events ADD COLUMN IF NOT EXISTS confirmed_requests BIGINT DEFAULT 0 NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_events_state_limit ON events (state, participant_limit, confirmed_requests);
+CREATE INDEX IF NOT EXISTS idx_events_state_event_date ON events (state, event_date, id);
+
+CREATE TABLE IF NOT EXISTS event_views
+(
+    event_id   BIGINT                      NOT NULL REFERENCES events (id),
+    views      BIGINT                      NOT NULL,
+    updated_on TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_event_views PRIMARY KEY (event_id)
+    );
+
+DROP INDEX IF EXISTS idx_event_views_views;
+
+CREATE INDEX IF NOT EXISTS idx_event_views_views_desc ON event_views (views DESC, event_id);
+
+INSERT INTO event_views (event_id, views, updated_on)
+SELECT e.id, 0, CURRENT_TIMESTAMP
+FROM events e
+WHERE e.state = 'PUBLISHED'
+  AND NOT EXISTS (SELECT 1 FROM event_views v WHERE v.event_id = e.id);
+
 CREATE TABLE IF NOT EXISTS requests
 (
     id       BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -59,6 +82,8 @@ CREATE TABLE IF NOT EXISTS requests
     CONSTRAINT unique_event_user UNIQUE (event_id, user_id)
     );
 
+CREATE INDEX IF NOT EXISTS idx_requests_event_state ON requests (event_id, state);
+
 CREATE TABLE IF NOT EXISTS compilations
 (
     id     BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -83,4 +108,15 @@ CREATE TABLE IF NOT EXISTS subscriptions
     CONSTRAINT pk_subscriptions PRIMARY KEY (id),
     CONSTRAINT u_initiators_subscribes UNIQUE (subscribed_to, subscriber),
     CONSTRAINT subscribe_state_enum CHECK (subscribe_state IN ('PENDING', 'CONFIRMED', 'REJECTED'))
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS initiator_stats
+(
+    user_id               BIGINT           NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    published_events      BIGINT DEFAULT 0 NOT NULL,
+    confirmed_subscribers BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_initiator_stats PRIMARY KEY (user_id)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_initiator_stats_events ON initiator_stats (published_events, user_id);
+CREATE INDEX IF NOT EXISTS idx_initiator_stats_subscribers ON initiator_stats (confirmed_subscribers, user_id);
\ No newline at end of file
@@ -12,15 +12,20 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.ExploreWithMeMainService;
 import ru.practicum.controller.AdminController;
 import ru.practicum.dto.input.NewCompilationDto;
+import ru.practicum.dto.output.CursorPage;
 
 import ru.practicum.entity.Compilation;
 import ru.practicum.mapper.CompilationMapper;
 import ru.practicum.service.*;
 
+import java.util.List;
+
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ContextConfiguration(classes = {ExploreWithMeMainService.class})
@@ -66,4 +71,42 @@ public class AdminControllerTest {
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    public void shouldGetUsersWithNextCursorHeaderCase() {
+        String nextCursor = new PageCursor(PageCursor.ID, null, 10L).encode();
+        when(userService.getUsers(any(), any(), any(), any())).thenReturn(new CursorPage<>(List.of(), nextCursor,
+            () -> 0L));
+        mockMvc.perform(get("/admin/users")
+                .param("size", "10")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, nextCursor));
+    }
+
+    @SneakyThrows
+    @Test
+    public void shouldGetUsersWithTotalCountHeaderCase() {
+        when(userService.getUsers(any(), any(), any(), any())).thenReturn(new CursorPage<>(List.of(), null,
+            () -> 42L));
+        mockMvc.perform(get("/admin/users")
+                .param("withTotalCount", "true")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string(CursorPage.TOTAL_COUNT_HEADER, "42"));
+    }
+
+    @SneakyThrows
+    @Test
+    public void shouldGetUsersWithoutTotalCountHeaderCase() {
+        when(userService.getUsers(any(), any(), any(), any())).thenReturn(new CursorPage<>(List.of(), null,
+            () -> {
+                throw new IllegalStateException("count must not be queried");
+            }));
+        mockMvc.perform(get("/admin/users")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CursorPage.TOTAL_COUNT_HEADER));
+    }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import ru.practicum.dto.output.CompilationDto;
+import ru.practicum.dto.output.EventShortDto;
+import ru.practicum.entity.*;
+import ru.practicum.repository.CompilationRepository;
+import ru.practicum.service.CompilationService;
+import ru.practicum.service.EventService;
+import ru.practicum.state.EventState;
+import ru.practicum.state.UserProfileState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CompilationServiceTest {
+    @InjectMocks
+    CompilationService compilationService;
+    @Mock
+    CompilationRepository compilationRepository;
+    @Mock
+    EventService eventService;
+    @Captor
+    ArgumentCaptor<List<EventShortDto>> eventsCaptor;
+
+    Compilation compilation1;
+    Compilation compilation2;
+
+    @BeforeEach
+    public void createEntitiesAndEnvironment() {
+        User user1 = new User(1L, "testUser1", "testUser1@mail.ru", UserProfileState.PUBLIC);
+        Event event1 = new Event(1L, "annotation1ForTestLengthMoreThan20",
+            new Category(1L, "testCategory1"), LocalDateTime.now(), "description1ForTestLengthMore" +
+            "Than20", LocalDateTime.of(2024, 1, 1, 1, 1, 1), user1,
+            new Location(), true, 0,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1), true,
+            EventState.PUBLISHED, "title1", 0L);
+        Event event2 = new Event(2L, "annotation2ForTestLengthMoreThan20",
+            new Category(2L, "testCategory2"), LocalDateTime.now(), "description2ForTestLengthMore" +
+            "Than20", LocalDateTime.of(2024, 2, 2, 2, 2, 2), user1,
+            new Location(), false, 10, LocalDateTime.of(2023, 2, 2, 2, 2, 2), true,
+            EventState.PUBLISHED, "title2", 0L);
+        this.compilation1 = new Compilation();
+        compilation1.setId(1L);
+        compilation1.setTitle("compilation1");
+        compilation1.setPinned(true);
+        compilation1.setEvents(List.of(event1, event2));
+        this.compilation2 = new Compilation();
+        compilation2.setId(2L);
+        compilation2.setTitle("compilation2");
+        compilation2.setPinned(true);
+        compilation2.setEvents(List.of(event2));
+    }
+
+    @Test
+    public void shouldGetCompilationsWithOneViewsLookupCase() {
+        when(compilationRepository.findAllByPinnedAndIdGreaterThan(any(), any(), any())).thenReturn(
+            new PageImpl<>(List.of(compilation1, compilation2)));
+        doAnswer(invocation -> {
+            List<EventShortDto> events = invocation.getArgument(0);
+            events.forEach(event -> event.setViews(event.getId() * 10));
+            return null;
+        }).when(eventService).addViews(any());
+
+        List<CompilationDto> actual = compilationService.getCompilations(true, null, 0, 10).getContent();
+
+        verify(eventService, times(1)).addViews(eventsCaptor.capture());
+        Assertions.assertEquals(3, eventsCaptor.getValue().size());
+        Assertions.assertEquals(2, actual.size());
+        Assertions.assertEquals(10L, actual.get(0).getEvents().get(0).getViews());
+        Assertions.assertEquals(20L, actual.get(0).getEvents().get(1).getViews());
+        Assertions.assertEquals(20L, actual.get(1).getEvents().get(0).getViews());
+    }
+}
@@ -5,10 +5,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.ExploreWithMeMainService;
 import ru.practicum.entity.*;
+import ru.practicum.dto.output.EventShortDto;
+import ru.practicum.mapper.EventMapper;
 import ru.practicum.mapper.RequestMapper;
 import ru.practicum.repository.EventRepository;
 import ru.practicum.service.PageRequestSpecifier;
@@ -16,9 +23,10 @@ import ru.practicum.state.EventState;
 import ru.practicum.state.RequestState;
 import ru.practicum.state.UserProfileState;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @ContextConfiguration(classes = {ExploreWithMeMainService.class})
 @DataJpaTest
@@ -29,6 +37,8 @@ public class EventRepositoryTest {
 
     @Autowired
     private EventRepository repository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
     private User user1;
     private User user2;
     private User user3;
@@ -44,7 +54,7 @@ public class EventRepositoryTest {
 
     @BeforeEach
     public void createEntitiesAndEnvironment() {
-        this.pageRequest = PageRequestSpecifier.getPageRequestWithoutSort(0, 10);
+        this.pageRequest = PageRequestSpecifier.getPageRequest(0, 10, Sort.by("id"));
         this.user1 = new User(null, "testUser1", "testUser1@mail.ru", UserProfileState.PUBLIC);
         this.user2 = new User(null, "testUser2", "testUser2@mail.ru", UserProfileState.PUBLIC);
         this.user3 = new User(null, "testUser3", "testUser3@mail.ru", UserProfileState.PUBLIC);
@@ -61,24 +71,24 @@ public class EventRepositoryTest {
             LocalDateTime.now(), "description1ForTestLengthMoreThan20",
             LocalDateTime.of(2024, 1, 1, 1, 1, 1), user1, new Location(),
             true, 0, LocalDateTime.of(2023, 1, 1, 1, 1, 1),
-            true, EventState.PUBLISHED, "title1", new ArrayList<>());
+            true, EventState.PUBLISHED, "title1", 0L);
         this.event2 = new Event(null, "annotation2ForTestLengthMoreThan20", category2, LocalDateTime.now(),
             "description2ForTestLengthMoreThan20",
             LocalDateTime.of(2024, 2, 2, 2, 2, 2), user2, new Location(),
             false, 10, null, true, EventState.PENDING, "title2",
-            new ArrayList<>());
+            0L);
         this.event3 = new Event(null, "annotation3ForTestLengthMoreThan20", category3, LocalDateTime.now(),
             "description3ForTestLengthMoreThan20",
             LocalDateTime.of(2024, 3, 3, 3, 3, 3), user3, new Location(),
             false, 2,
             LocalDateTime.of(2023, 3, 3, 3, 3, 3), false,
-            EventState.PUBLISHED, "title3", new ArrayList<>());
+            EventState.PUBLISHED, "title3", 0L);
         this.event4 = new Event(null, "annotation4ForTestLengthMoreThan20", category2, LocalDateTime.now(),
             "description4ForTestLengthMoreThan20",
             LocalDateTime.of(2024, 4, 4, 4, 4, 4), user2, new Location(),
             false, 1,
             LocalDateTime.of(2023, 4, 4, 4, 4, 4), true,
-            EventState.PUBLISHED, "title4", new ArrayList<>());
+            EventState.PUBLISHED, "title4", 0L);
         entityManager.persist(event1);
         entityManager.persist(event2);
         entityManager.persist(event3);
@@ -88,7 +98,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllAdminByFilterNullAllCase() {
         List<Event> actual = repository.findAllAdminByFilter(null, null, null, null,
-            null, pageRequest).getContent();
+            null, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event2, event3, event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -96,7 +106,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllAdminByFilterOneUserCase() {
         List<Event> actual = repository.findAllAdminByFilter(List.of(user2), null, null, null,
-            null, pageRequest).getContent();
+            null, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event2, event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -104,7 +114,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllAdminByFilterSomeUsersCase() {
         List<Event> actual = repository.findAllAdminByFilter(List.of(user2, user3), null, null,
-            null, null, pageRequest).getContent();
+            null, null, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event2, event3, event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -112,7 +122,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllAdminByFilterOneStateCase() {
         List<Event> actual = repository.findAllAdminByFilter(null, List.of(EventState.PENDING), null,
-            null, null, pageRequest).getContent();
+            null, null, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event2);
         Assertions.assertEquals(expected, actual);
     }
@@ -120,7 +130,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllAdminByFilterSomeStatesCase() {
         List<Event> actual = repository.findAllAdminByFilter(null, List.of(EventState.PUBLISHED,
-            EventState.CANCELED), null, null, null, pageRequest).getContent();
+            EventState.CANCELED), null, null, null, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event3, event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -128,7 +138,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllAdminByFilterOneCategoryCase() {
         List<Event> actual = repository.findAllAdminByFilter(null, null, List.of(category1), null,
-            null, pageRequest).getContent();
+            null, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event1);
         Assertions.assertEquals(expected, actual);
     }
@@ -136,7 +146,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllAdminByFilterSomeCategoryCase() {
         List<Event> actual = repository.findAllAdminByFilter(null, null, List.of(category1, category3),
-            null, null, pageRequest).getContent();
+            null, null, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event3);
         Assertions.assertEquals(expected, actual);
     }
@@ -145,7 +155,7 @@ public class EventRepositoryTest {
     public void shouldFindAllAdminByFilterRangeStartNotNullRangeEndNullCase() {
         List<Event> actual = repository.findAllAdminByFilter(null, null, null,
             LocalDateTime.of(2024, 3, 3, 3, 3, 3), null,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event3, event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -153,7 +163,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllAdminByFilterRangeStartNullRangeEndNotNullCase() {
         List<Event> actual = repository.findAllAdminByFilter(null, null, null, null,
-            LocalDateTime.of(2024, 3, 3, 3, 3, 3), pageRequest).getContent();
+            LocalDateTime.of(2024, 3, 3, 3, 3, 3), 0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event2, event3);
         Assertions.assertEquals(expected, actual);
     }
@@ -162,7 +172,7 @@ public class EventRepositoryTest {
     public void shouldFindAllAdminByFilterRangeStartIsEqualsRangeEndCase() {
         List<Event> actual = repository.findAllAdminByFilter(null, null, null,
             LocalDateTime.of(2024, 3, 3, 3, 3, 3),
-            LocalDateTime.of(2024, 3, 3, 3, 3, 3), pageRequest).getContent();
+            LocalDateTime.of(2024, 3, 3, 3, 3, 3), 0L, pageRequest).getContent();
         List<Event> expected = List.of(event3);
         Assertions.assertEquals(expected, actual);
     }
@@ -172,7 +182,7 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllAdminByFilter(List.of(user2), List.of(EventState.PUBLISHED),
             List.of(category2), LocalDateTime.of(2024, 1, 1, 1, 1, 1),
             LocalDateTime.of(2024, 12, 12, 12, 12, 12),
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -182,7 +192,7 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllAdminByFilter(List.of(user1), List.of(EventState.CANCELED),
             List.of(category2), LocalDateTime.of(2024, 1, 1, 1, 1, 1),
             LocalDateTime.of(2024, 12, 12, 12, 12, 12),
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of();
         Assertions.assertEquals(expected, actual);
     }
@@ -192,7 +202,7 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllPublicByFilter(null, null, null,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1),
             LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event3, event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -202,7 +212,7 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllPublicByFilter("TioN4", null, null,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1),
             LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> excepted = List.of(event1, event4);
         Assertions.assertEquals(excepted, actual);
     }
@@ -212,7 +222,7 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllPublicByFilter(null, List.of(category1), null,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1),
             LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event1);
         Assertions.assertEquals(expected, actual);
     }
@@ -222,7 +232,7 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllPublicByFilter(null, List.of(category1, category3), null,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1),
             LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event3);
         Assertions.assertEquals(expected, actual);
     }
@@ -232,7 +242,7 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllPublicByFilter(null, null, true,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1),
             LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event1);
         Assertions.assertEquals(expected, actual);
     }
@@ -242,7 +252,7 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllPublicByFilter(null, null, false,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1),
             LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event3, event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -251,7 +261,7 @@ public class EventRepositoryTest {
     public void shouldFindAllPublicByFilterRangeStartAndRangeEndNullCase() {
         LocalDateTime nowFilter = LocalDateTime.of(2024, 2, 2, 2, 2, 2);
         List<Event> actual = repository.findAllPublicByFilter(null, null, null, false,
-            nowFilter, pageRequest).getContent();
+            nowFilter, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event3, event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -259,7 +269,7 @@ public class EventRepositoryTest {
     @Test
     public void shouldFindAllPublicByFilterRangeStartNotNullAndRangeEndNullCase() {
         List<Event> actual = repository.findAllPublicByFilter(null, null, null,
-            LocalDateTime.of(2024, 3, 3, 3, 3, 4), null, false, pageRequest).getContent();
+            LocalDateTime.of(2024, 3, 3, 3, 3, 4), null, false, 0L, pageRequest).getContent();
         List<Event> expected = List.of(event4);
         Assertions.assertEquals(expected, actual);
     }
@@ -268,7 +278,7 @@ public class EventRepositoryTest {
     public void shouldFindAllPublicByFilterRangeStartNullAndRangeEndNotNullCase() {
         List<Event> actual = repository.findAllPublicByFilter(null, null, null, null,
             LocalDateTime.of(2024, 3, 3, 3, 3, 4), false,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event3);
         Assertions.assertEquals(expected, actual);
     }
@@ -277,10 +287,11 @@ public class EventRepositoryTest {
     public void shouldFindAllPublicByFilterOnlyAvailableCase() {
         Request request = RequestMapper.toRequest(user3,event4,LocalDateTime.now(),RequestState.CONFIRMED);
         entityManager.persist(request);
+        repository.addConfirmedRequests(event4.getId(), 1);
         List<Event> actual = repository.findAllPublicByFilter(null, null, null,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1),
             LocalDateTime.of(2030, 1, 1, 1, 1, 1), true,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event3);
         Assertions.assertEquals(expected, actual);
     }
@@ -296,8 +307,208 @@ public class EventRepositoryTest {
         List<Event> actual = repository.findAllPublicByFilter(null, null, null,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1),
             LocalDateTime.of(2030, 1, 1, 1, 1, 1), true,
-            pageRequest).getContent();
+            0L, pageRequest).getContent();
         List<Event> expected = List.of(event1, event3, event4);
         Assertions.assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldFindAllPublicByFilterEventDateSortCase() {
+        List<Event> actual = repository.findAllPublicByFilter(null, null, null,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
+            0L, PageRequestSpecifier.getPageRequest(0, 10, Sort.by(Sort.Direction.DESC, "eventDate"))).getContent();
+        List<Event> expected = List.of(event4, event3, event1);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldFindAllPublicByFilterViewsSortCase() {
+        entityManager.persist(new EventView(event3.getId(), 50L, LocalDateTime.now()));
+        entityManager.persist(new EventView(event1.getId(), 10L, LocalDateTime.now()));
+        entityManager.persist(new EventView(event4.getId(), 10L, LocalDateTime.now()));
+        Sort viewsSort = JpaSort.unsafe(Sort.Direction.DESC, "v.views").and(JpaSort.unsafe("v.eventId"));
+        List<EventWithViews> actual = repository.findAllPublicByFilterOrderByViews(null, null, null,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
+            0L, Long.MAX_VALUE, PageRequestSpecifier.getPageRequest(0, 2, viewsSort)).getContent();
+        Assertions.assertEquals(List.of(event3, event1), toEvents(actual));
+        Assertions.assertEquals(List.of(50L, 10L), toViews(actual));
+
+        actual = repository.findAllPublicByFilterOrderByViews(null, null, null, false,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            0L, Long.MAX_VALUE, PageRequestSpecifier.getPageRequest(2, 2, viewsSort)).getContent();
+        Assertions.assertEquals(List.of(event4), toEvents(actual));
+    }
+
+    @Test
+    public void shouldFindAllPublicByFilterViewsKeysetCase() {
+        entityManager.persist(new EventView(event3.getId(), 50L, LocalDateTime.now()));
+        entityManager.persist(new EventView(event1.getId(), 10L, LocalDateTime.now()));
+        entityManager.persist(new EventView(event4.getId(), 10L, LocalDateTime.now()));
+        Sort viewsSort = JpaSort.unsafe(Sort.Direction.DESC, "v.views").and(JpaSort.unsafe("v.eventId"));
+        Slice<EventWithViews> first = repository.findAllPublicByFilterOrderByViews(null, null, null, false,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1), 0L, Long.MAX_VALUE,
+            PageRequestSpecifier.getPageRequest(0, 2, viewsSort));
+        Assertions.assertEquals(List.of(event3, event1), toEvents(first.getContent()));
+        Assertions.assertEquals(List.of(50L, 10L), toViews(first.getContent()));
+        Assertions.assertTrue(first.hasNext());
+
+        Slice<EventWithViews> second = repository.findAllPublicByFilterOrderByViews(null, null, null, false,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1), event1.getId(), 10L,
+            PageRequestSpecifier.getPageRequest(0, 2, viewsSort));
+        Assertions.assertEquals(List.of(event4), toEvents(second.getContent()));
+        Assertions.assertFalse(second.hasNext());
+    }
+
+    @Test
+    public void shouldSkipPublishedEventsWithoutViewsRowInViewsSortCase() {
+        entityManager.persist(new EventView(event1.getId(), 10L, LocalDateTime.now()));
+        Sort viewsSort = JpaSort.unsafe(Sort.Direction.DESC, "v.views").and(JpaSort.unsafe("v.eventId"));
+        List<EventWithViews> actual = repository.findAllPublicByFilterOrderByViews(null, null, null, false,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1), 0L, Long.MAX_VALUE,
+            PageRequestSpecifier.getPageRequest(0, 10, viewsSort)).getContent();
+        Assertions.assertEquals(List.of(event1), toEvents(actual));
+    }
+
+    @Test
+    public void shouldFindAllPublicByFilterEventDateKeysetCase() {
+        Slice<Event> actual = repository.findAllPublicByFilterAfterEventDate(null, null, null,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
+            event1.getId(), event1.getEventDate(),
+            PageRequestSpecifier.getPageRequest(0, 1, Sort.by("eventDate", "id")));
+        Assertions.assertEquals(List.of(event3), actual.getContent());
+        Assertions.assertTrue(actual.hasNext());
+
+        actual = repository.findAllPublicByFilterAfterEventDate(null, null, null, false,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1), event3.getId(), event3.getEventDate(),
+            PageRequestSpecifier.getPageRequest(0, 1, Sort.by("eventDate", "id")));
+        Assertions.assertEquals(List.of(event4), actual.getContent());
+        Assertions.assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void shouldFindAllPublicByFilterIdKeysetCase() {
+        Slice<Event> actual = repository.findAllPublicByFilter(null, null, null,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            LocalDateTime.of(2030, 1, 1, 1, 1, 1), false,
+            event1.getId(), PageRequestSpecifier.getPageRequest(0, 10, Sort.by("id")));
+        Assertions.assertEquals(List.of(event3, event4), actual.getContent());
+    }
+
+    @Test
+    public void shouldFindAllAdminByFilterKeysetCase() {
+        Slice<Event> actual = repository.findAllAdminByFilter(null, null, null, null, null, event2.getId(),
+            PageRequestSpecifier.getPageRequest(0, 10, Sort.by("id")));
+        Assertions.assertEquals(List.of(event3, event4), actual.getContent());
+        Assertions.assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void shouldCountAdminByFilterCase() {
+        Assertions.assertEquals(4L, repository.countAdminByFilter(null, null, null, null, null));
+        Assertions.assertEquals(1L, repository.countAdminByFilter(null, null, List.of(category1), null, null));
+    }
+
+    @Test
+    public void shouldCountPublicByFilterCase() {
+        long actual = repository.countPublicByFilter(null, null, null,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            LocalDateTime.of(2030, 1, 1, 1, 1, 1), false);
+        Assertions.assertEquals(3L, actual);
+        Assertions.assertEquals(2L, repository.countPublicByFilter("TioN4", null, null,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            LocalDateTime.of(2030, 1, 1, 1, 1, 1), false));
+    }
+
+    @Test
+    public void shouldFindAllAdminByFilterInOneStatementCase() {
+        entityManager.persist(RequestMapper.toRequest(user3, event1, LocalDateTime.now(), RequestState.CONFIRMED));
+        entityManager.persist(RequestMapper.toRequest(user2, event1, LocalDateTime.now(), RequestState.CONFIRMED));
+        entityManager.persist(RequestMapper.toRequest(user1, event4, LocalDateTime.now(), RequestState.PENDING));
+        repository.addConfirmedRequests(event1.getId(), 2);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = getStatistics();
+
+        List<EventShortDto> actual = EventMapper.toEventShortDtoList(repository.findAllAdminByFilter(null, null,
+            null, null, null, 0L, pageRequest).getContent());
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(4, actual.size());
+        Assertions.assertEquals(2L, actual.get(0).getConfirmedRequests());
+        Assertions.assertEquals("testCategory1", actual.get(0).getCategory().getName());
+        Assertions.assertEquals("testUser1", actual.get(0).getInitiator().getName());
+        Assertions.assertEquals(0L, actual.get(3).getConfirmedRequests());
+    }
+
+    @Test
+    public void shouldFindAllPublicByFilterInOneStatementCase() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = getStatistics();
+
+        List<EventShortDto> actual = EventMapper.toEventShortDtoList(repository.findAllPublicByFilter(null, null,
+            null, false, LocalDateTime.of(2023, 1, 1, 1, 1, 1), 0L, pageRequest).getContent());
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(3, actual.size());
+    }
+
+    @Test
+    public void shouldFindAllPublicByFilterOrderByViewsInOneStatementCase() {
+        entityManager.persist(new EventView(event3.getId(), 50L, LocalDateTime.now()));
+        entityManager.persist(new EventView(event1.getId(), 10L, LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = getStatistics();
+        Sort viewsSort = JpaSort.unsafe(Sort.Direction.DESC, "v.views").and(JpaSort.unsafe("v.eventId"));
+
+        List<EventWithViews> actual = repository.findAllPublicByFilterOrderByViews(null, null, null, false,
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1), 0L, Long.MAX_VALUE,
+            PageRequestSpecifier.getPageRequest(0, 10, viewsSort)).getContent();
+        List<EventShortDto> events = EventMapper.toEventShortDtoList(toEvents(actual));
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(List.of(50L, 10L), toViews(actual));
+        Assertions.assertEquals("testCategory1", events.get(1).getCategory().getName());
+        Assertions.assertEquals("testUser1", events.get(1).getInitiator().getName());
+    }
+
+    @Test
+    public void shouldReconcileConfirmedRequestsCase() {
+        entityManager.persist(RequestMapper.toRequest(user3, event1, LocalDateTime.now(), RequestState.CONFIRMED));
+        entityManager.persist(RequestMapper.toRequest(user2, event1, LocalDateTime.now(), RequestState.CONFIRMED));
+        entityManager.persist(RequestMapper.toRequest(user1, event4, LocalDateTime.now(), RequestState.PENDING));
+        repository.addConfirmedRequests(event3.getId(), 5);
+        entityManager.flush();
+
+        Assertions.assertEquals(List.of(event1.getId(), event3.getId()),
+            repository.findIdsWithStaleConfirmedRequests());
+        Assertions.assertEquals(event1.getId(), repository.lockById(event1.getId()));
+        Assertions.assertEquals(1, repository.reconcileConfirmedRequests(event1.getId()));
+        Assertions.assertEquals(1, repository.reconcileConfirmedRequests(event3.getId()));
+        Assertions.assertEquals(0, repository.reconcileConfirmedRequests(event4.getId()));
+        Assertions.assertTrue(repository.findIdsWithStaleConfirmedRequests().isEmpty());
+        entityManager.clear();
+        Assertions.assertEquals(2L, repository.findById(event1.getId()).orElseThrow().getConfirmedRequests());
+        Assertions.assertEquals(0L, repository.findById(event3.getId()).orElseThrow().getConfirmedRequests());
+        Assertions.assertEquals(0L, repository.findById(event4.getId()).orElseThrow().getConfirmedRequests());
+    }
+
+    private Statistics getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private List<Event> toEvents(List<EventWithViews> eventsWithViews) {
+        return eventsWithViews.stream().map(EventWithViews::getEvent).collect(Collectors.toList());
+    }
+
+    private List<Long> toViews(List<EventWithViews> eventsWithViews) {
+        return eventsWithViews.stream().map(EventWithViews::getViews).collect(Collectors.toList());
+    }
+}
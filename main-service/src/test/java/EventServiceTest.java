@@ -4,7 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.EndpointHitDto;
 import ru.practicum.StatsClient;
 import ru.practicum.ViewStats;
 import ru.practicum.dto.input.UpdateEventAdminRequest;
@@ -13,13 +19,21 @@ import ru.practicum.dto.output.EventFullDto;
 import ru.practicum.dto.output.EventShortDto;
 import ru.practicum.entity.Category;
 import ru.practicum.entity.Event;
+import ru.practicum.entity.EventView;
+import ru.practicum.entity.EventWithViews;
 import ru.practicum.entity.Location;
 import ru.practicum.entity.User;
 import ru.practicum.exception.IllegalActionException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.mapper.EventMapper;
 import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventViewRepository;
+import ru.practicum.service.CategoryService;
 import ru.practicum.service.EventService;
+import ru.practicum.service.EventViewsCache;
+import ru.practicum.service.PageCursor;
+import ru.practicum.service.PageRequestSpecifier;
+import ru.practicum.service.ResilientStatsClient;
 import ru.practicum.service.UserService;
 import ru.practicum.state.EventState;
 import ru.practicum.state.StateActionAdmin;
@@ -28,18 +42,19 @@ import ru.practicum.state.UserProfileState;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class EventServiceTest {
-    @InjectMocks
     EventService eventService;
     @Mock
     EventRepository eventRepository;
@@ -50,7 +65,13 @@ public class EventServiceTest {
     @Mock
     HttpServletRequest servletRequest;
     @Mock
+    CategoryService categoryService;
+    @Mock
     Clock clock;
+    @Mock
+    EventViewRepository eventViewRepository;
+    EventViewsCache eventViewsCache;
+    ResilientStatsClient resilientStatsClient;
 
     User user1;
     Event event1;
@@ -60,37 +81,85 @@ public class EventServiceTest {
 
     @BeforeEach
     public void createEntitiesAndEnvironment() {
+        this.resilientStatsClient = new ResilientStatsClient(statsClient, new SimpleMeterRegistry(),
+            Clock.systemUTC(), 5, Duration.ofSeconds(30), 1, 4, Duration.ofSeconds(5));
+        this.eventViewsCache = new EventViewsCache(resilientStatsClient, eventViewRepository, clock,
+            new SimpleMeterRegistry(), Duration.ofMinutes(5), Duration.ofMinutes(1), 100);
+        this.eventService = new EventService(eventRepository, categoryService, userService, resilientStatsClient,
+            eventViewsCache, eventViewRepository, clock, false);
         this.user1 = new User(1L, "testUser1", "testUser1@mail.ru", UserProfileState.PUBLIC);
         this.event1 = new Event(1L, "annotation1ForTestLengthMoreThan20",
             new Category(1L, "testCategory1"), LocalDateTime.now(), "description1ForTestLengthMore" +
             "Than20", LocalDateTime.of(2024, 1, 1, 1, 1, 1), user1,
             new Location(), true, 0,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1), true,
-            EventState.PUBLISHED, "title1", new ArrayList<>());
+            EventState.PUBLISHED, "title1", 0L);
         this.event2 = new Event(2L, "annotation2ForTestLengthMoreThan20",
             new Category(2L, "testCategory2"), LocalDateTime.now(), "description2ForTestLengthMore" +
             "Than20", LocalDateTime.of(2024, 2, 2, 2, 2, 2), user1,
             new Location(), false, 10, null, true, EventState.PENDING,
-            "title2", new ArrayList<>());
+            "title2", 0L);
         this.event3 = new Event(3L, "annotation3ForTestLengthMoreThan20",
             new Category(3L, "testCategory3"), LocalDateTime.now(), "description1ForTestLengthMore" +
             "Than20", LocalDateTime.of(2024, 3, 3, 3, 3, 3), user1,
             new Location(), true, 20,
             LocalDateTime.of(2023, 1, 1, 1, 1, 1), true,
-            EventState.PUBLISHED, "title1", new ArrayList<>());
+            EventState.PUBLISHED, "title1", 0L);
     }
 
     @Test
     public void shouldGetEventPrivateStandardCase() {
         when(userService.getUserIfExists(anyLong())).thenReturn(user1);
         when(eventRepository.findById(anyLong())).thenReturn(Optional.of(event1));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(List.of(new ViewStats("test",
-            "/events/1", 100L)));
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new ViewStats("test",
+                "/events/1", 100L))));
+        LocalDateTime date = LocalDateTime.of(2023, 6, 1, 1, 1, 1);
+        Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
 
         EventFullDto actual = eventService.getEventPrivate(1L, 1L);
         Assertions.assertEquals(100L, actual.getViews());
     }
 
+    @Test
+    public void shouldGetEventPrivateFromViewsCacheCase() {
+        when(userService.getUserIfExists(anyLong())).thenReturn(user1);
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.of(event1));
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new ViewStats("test",
+                "/events/1", 100L))));
+        LocalDateTime date = LocalDateTime.of(2023, 6, 1, 1, 1, 1);
+        Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+
+        eventService.getEventPrivate(1L, 1L);
+        EventFullDto actual = eventService.getEventPrivate(1L, 1L);
+        Assertions.assertEquals(100L, actual.getViews());
+        Mockito.verify(statsClient, Mockito.times(1)).getStatsAsync(any(), any(), any(), any());
+
+        eventViewsCache.invalidate(1L);
+        eventService.getEventPrivate(1L, 1L);
+        Mockito.verify(statsClient, Mockito.times(2)).getStatsAsync(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldGetEventPrivateWithLastKnownViewsWhenStatsIsUnavailableCase() {
+        when(userService.getUserIfExists(anyLong())).thenReturn(user1);
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.of(event1));
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new ResourceAccessException("refused")));
+        when(eventViewRepository.findAllById(List.of(1L))).thenReturn(List.of(new EventView(1L, 42L,
+            LocalDateTime.of(2023, 5, 1, 1, 1, 1))));
+        LocalDateTime date = LocalDateTime.of(2023, 6, 1, 1, 1, 1);
+        Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+
+        Assertions.assertEquals(42L, eventService.getEventPrivate(1L, 1L).getViews());
+        Assertions.assertEquals(42L, eventService.getEventPrivate(1L, 1L).getViews());
+        Mockito.verify(statsClient, Mockito.times(2)).getStatsAsync(any(), any(), any(), any());
+    }
+
     @Test
     public void shouldGetEventPublicStandardCase() {
         when(servletRequest.getRemoteAddr()).thenReturn("111.111.111.111");
@@ -101,27 +170,94 @@ public class EventServiceTest {
         Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
 
         when(eventRepository.findById(anyLong())).thenReturn(Optional.of(event1));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(List.of(new ViewStats("test",
-            "/events/1", 100L)));
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new ViewStats("test",
+                "/events/1", 100L))));
 
         EventFullDto actual = eventService.getEventPublic(1L, servletRequest);
         Assertions.assertEquals(100L, actual.getViews());
+        Mockito.verify(statsClient, Mockito.times(2)).getStatsAsync(any(), any(), any(), any());
+        eventViewsCache.getViews(List.of(1L));
+        Mockito.verify(statsClient, Mockito.times(3)).getStatsAsync(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldGetEventPublicUpcomingEventFromViewsCacheCase() {
+        when(servletRequest.getRemoteAddr()).thenReturn("111.111.111.111");
+        when(servletRequest.getRequestURI()).thenReturn("/events/1");
+
+        LocalDateTime date = LocalDateTime.of(2023, 6, 1, 1, 1, 1);
+        Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.of(event1));
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new ViewStats("test",
+                "/events/1", 100L))));
+
+        EventFullDto actual = eventService.getEventPublic(1L, servletRequest);
+        Assertions.assertEquals(100L, actual.getViews());
+        Mockito.verify(statsClient, Mockito.times(1)).getStatsAsync(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldGetEventPublicNotPublishedWithoutCachingViewsCase() {
+        LocalDateTime date = LocalDateTime.of(2023, 6, 1, 1, 1, 1);
+        Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(eventRepository.findById(2L)).thenReturn(Optional.of(event2));
+        when(eventRepository.findById(4L)).thenReturn(Optional.empty());
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        Assertions.assertThrows(NotFoundException.class, () -> eventService.getEventPublic(2L, servletRequest));
+        Assertions.assertThrows(NotFoundException.class, () -> eventService.getEventPublic(4L, servletRequest));
+        Mockito.verify(statsClient, Mockito.times(2)).getStatsAsync(any(), any(), any(), any());
+
+        eventViewsCache.getViews(List.of(2L, 4L));
+        Mockito.verify(statsClient, Mockito.times(3)).getStatsAsync(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldGetEventsPublicByIdsCase() {
+        when(servletRequest.getRemoteAddr()).thenReturn("111.111.111.111");
+        LocalDateTime date = LocalDateTime.of(2025, 1, 1, 1, 1, 1);
+        Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(eventRepository.findAllByIdIn(List.of(3L, 2L, 1L, 3L))).thenReturn(List.of(event1, event2, event3));
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new ViewStats("main-service",
+                "/events/3", 7L))));
+        ArgumentCaptor<List<EndpointHitDto>> hitsCaptor = ArgumentCaptor.forClass(List.class);
+
+        List<EventFullDto> actual = eventService.getEventsPublicByIds(new Long[]{3L, 2L, 1L, 3L}, servletRequest);
+
+        Assertions.assertEquals(List.of(3L, 1L), actual.stream().map(EventFullDto::getId)
+            .collect(Collectors.toList()));
+        Assertions.assertEquals(7L, actual.get(0).getViews());
+        Assertions.assertEquals(0L, actual.get(1).getViews());
+        Mockito.verify(statsClient, Mockito.times(1)).getStatsAsync(any(), any(), any(), any());
+        Mockito.verify(statsClient).recordHits(hitsCaptor.capture());
+        Assertions.assertEquals(List.of("/events/3", "/events/1"), hitsCaptor.getValue().stream()
+            .map(EndpointHitDto::getUri)
+            .collect(Collectors.toList()));
     }
 
     @Test
     public void shouldGetEventsAdminStandardCase() {
         List<Event> eventsList = List.of(event1, event2, event3);
-        when(eventRepository.findAllAdminByFilter(any(), any(), any(), any(), any(), any())).thenReturn(
+        when(eventRepository.findAllAdminByFilter(any(), any(), any(), any(), any(), any(), any())).thenReturn(
             new PageImpl<>(eventsList));
         List<ViewStats> statsList = List.of(new ViewStats("main-server", "events/3", 100L));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(statsList);
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(statsList));
 
         LocalDateTime date = LocalDateTime.of(2025, 1, 1, 1, 1, 1);
         Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
         Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
 
         List<EventFullDto> actual = eventService.getEventsAdmin(null, null, null, null,
-            null, 0, 10);
+            null, null, 0, 10).getContent();
 
         Assertions.assertEquals(3, actual.size());
         Assertions.assertEquals(actual.get(0), EventMapper.toEventFullDto(event1));
@@ -134,56 +270,123 @@ public class EventServiceTest {
         List<Event> eventsList = List.of(event1, event3);
         LocalDateTime date = LocalDateTime.of(2025, 1, 1, 1, 1, 1);
         List<ViewStats> statsList = List.of(new ViewStats("main-server", "events/3", 100L));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(statsList);
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(statsList));
         Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
         Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
 
-        when(eventRepository.findAllPublicByFilter(any(), any(), any(), any(), any(), any())).thenReturn(
+        when(eventRepository.findAllPublicByFilter(any(), any(), any(), any(), any(), any(), any())).thenReturn(
             new PageImpl<>(eventsList));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(statsList);
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(statsList));
         List<EventShortDto> actual = eventService.getEventsPublic(null, null, null, null,
-            null, false, "EVENT_DATE", 0, 10, servletRequest);
-        System.out.println(actual);
+            null, false, "EVENT_DATE", null, 0, 10, servletRequest).getContent();
         Assertions.assertEquals(2, actual.size());
         Assertions.assertEquals(actual.get(0), EventMapper.toEventShortDto(event1));
         Assertions.assertEquals(100L, actual.get(1).getViews());
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        Mockito.verify(eventRepository).findAllPublicByFilter(any(), any(), any(), any(), any(), any(),
+            pageableCaptor.capture());
+        Assertions.assertEquals(Sort.by("eventDate", "id"), pageableCaptor.getValue().getSort());
     }
 
     @Test
     public void shouldGetEventsPublicViewsSortCase() {
-        List<Event> eventsList = List.of(event1, event3);
+        List<EventWithViews> eventsList = List.of(withViews(event3, 100L), withViews(event1, 0L));
         LocalDateTime date = LocalDateTime.of(2025, 1, 1, 1, 1, 1);
         List<ViewStats> statsList = List.of(new ViewStats("main-server", "events/3", 100L));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(statsList);
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(statsList));
         Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
         Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
 
-        when(eventRepository.findAllPublicByFilter(any(), any(), any(), any(), any(), any())).thenReturn(
+        when(eventRepository.findAllPublicByFilterOrderByViews(any(), any(), any(), any(), any(), any(), any(),
+            any())).thenReturn(
             new PageImpl<>(eventsList));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(statsList);
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(statsList));
         List<EventShortDto> actual = eventService.getEventsPublic(null, null, null, null,
-            null, false, "VIEWS", 0, 10, servletRequest);
+            null, false, "VIEWS", null, 0, 10, servletRequest).getContent();
 
         Assertions.assertEquals(2, actual.size());
         Assertions.assertEquals(100L, actual.get(0).getViews());
         Assertions.assertEquals(actual.get(1), EventMapper.toEventShortDto(event1));
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        Mockito.verify(eventRepository).findAllPublicByFilterOrderByViews(any(), any(), any(), any(), any(),
+            eq(0L), eq(Long.MAX_VALUE), pageableCaptor.capture());
+        Sort.Order viewsOrder = pageableCaptor.getValue().getSort().getOrderFor("v.views");
+        Assertions.assertNotNull(viewsOrder);
+        Assertions.assertTrue(viewsOrder.isDescending());
+        Sort.Order idOrder = pageableCaptor.getValue().getSort().getOrderFor("v.eventId");
+        Assertions.assertNotNull(idOrder);
+        Assertions.assertTrue(idOrder.isAscending());
     }
 
     @Test
     public void shouldGetEventsPublicSortNotSupported() {
-        List<Event> eventsList = List.of(event1, event3);
+        Assertions.assertThrows(IllegalActionException.class, () -> eventService.getEventsPublic(null,
+            new Long[]{1L}, null, null, null, false, "NOT_SUPPORTED", null, 0,
+            10, servletRequest));
+        Mockito.verifyNoInteractions(categoryService, eventRepository, statsClient);
+    }
+
+    @Test
+    public void shouldGetEventsPublicViewsCursorFromPageQueryCase() {
+        List<EventWithViews> eventsList = List.of(withViews(event3, 100L), withViews(event1, 7L));
         LocalDateTime date = LocalDateTime.of(2025, 1, 1, 1, 1, 1);
-        List<ViewStats> statsList = List.of(new ViewStats("main-server", "events/3", 100L));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(statsList);
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
+        Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(eventRepository.findAllPublicByFilterOrderByViews(any(), any(), any(), any(), any(), any(), any(),
+            any())).thenReturn(new SliceImpl<>(eventsList, PageRequestSpecifier.getPageRequest(0, 2, Sort.unsorted()),
+            true));
+
+        String nextCursor = eventService.getEventsPublic(null, null, null, null, null, false, "VIEWS", null, 0,
+            2, servletRequest).getNextCursor();
+
+        PageCursor after = PageCursor.decode(nextCursor).checkSort("VIEWS");
+        Assertions.assertEquals(7L, after.getValueAsLong());
+        Assertions.assertEquals(1L, after.getId());
+        Mockito.verify(eventViewRepository, Mockito.never()).findById(any());
+    }
+
+    @Test
+    public void shouldGetEventsPublicRelevanceSortWithoutFullTextSearchCase() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> eventService.getEventsPublic("annotation3",
+            null, null, null, null, false, "RELEVANCE", null, 0, 10, servletRequest));
+        Mockito.verifyNoInteractions(categoryService, eventRepository, statsClient);
+    }
+
+    @Test
+    public void shouldGetEventsPublicRelevanceSortBlankTextCase() {
+        EventService fullTextEventService = new EventService(eventRepository, categoryService, userService,
+            resilientStatsClient, eventViewsCache, eventViewRepository, clock, true);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> fullTextEventService.getEventsPublic(" ",
+            null, null, null, null, false, "RELEVANCE", null, 0, 10, servletRequest));
+        Mockito.verifyNoInteractions(categoryService, eventRepository, statsClient);
+    }
+
+    @Test
+    public void shouldGetEventsPublicFullTextSearchCase() {
+        EventService fullTextEventService = new EventService(eventRepository, categoryService, userService,
+            resilientStatsClient, eventViewsCache, eventViewRepository, clock, true);
+        List<Event> eventsList = List.of(event3, event1);
+        LocalDateTime date = LocalDateTime.of(2025, 1, 1, 1, 1, 1);
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
         Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
         Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
 
-        when(eventRepository.findAllPublicByFilter(any(), any(), any(), any(), any(), any())).thenReturn(
+        when(eventRepository.searchAllPublicByFilter(any(), any(), any(), any(), any(), any(), any())).thenReturn(
             new PageImpl<>(eventsList));
-        when(statsClient.getStats(any(), any(), any(), any())).thenReturn(statsList);
-        Assertions.assertThrows(IllegalActionException.class, () -> eventService.getEventsPublic(null,
-            null, null, null, null, false, "NOT_SUPPORTED", 0,
-            10, servletRequest));
+        List<EventShortDto> actual = fullTextEventService.getEventsPublic("description", null, null, null,
+            null, false, "RELEVANCE", null, 0, 10, servletRequest).getContent();
+
+        Assertions.assertEquals(2, actual.size());
+        Assertions.assertEquals(3L, actual.get(0).getId());
+        Mockito.verify(eventRepository, Mockito.never()).findAllPublicByFilter(any(), any(), any(), any(), any(),
+            any(), any());
     }
 
     @Test
@@ -206,6 +409,7 @@ public class EventServiceTest {
 
         EventFullDto actual = eventService.updateEventAdmin(2L, request);
         Assertions.assertEquals(EventState.PUBLISHED, actual.getState());
+        Mockito.verify(eventViewRepository).save(new EventView(2L, 0L, date));
     }
 
     @Test
@@ -243,4 +447,37 @@ public class EventServiceTest {
         EventFullDto actual = eventService.updateEventUser(1L, 2L, request);
         Assertions.assertEquals(EventState.CANCELED, actual.getState());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldAddViewsWithDistinctUrisCase() {
+        LocalDateTime date = LocalDateTime.of(2025, 1, 1, 1, 1, 1);
+        Mockito.when(clock.instant()).thenReturn(date.toInstant(ZoneOffset.UTC));
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(statsClient.getStatsAsync(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(new ViewStats("main-service",
+                "/events/1", 100L))));
+        List<EventShortDto> events = EventMapper.toEventShortDtoList(List.of(event1, event3, event1));
+        ArgumentCaptor<String[]> urisCaptor = ArgumentCaptor.forClass(String[].class);
+
+        eventService.addViews(events);
+
+        Mockito.verify(statsClient, Mockito.times(1)).getStatsAsync(any(), any(), urisCaptor.capture(), any());
+        Assertions.assertArrayEquals(new String[]{"/events/1", "/events/3"}, urisCaptor.getValue());
+        Assertions.assertEquals(100L, events.get(0).getViews());
+        Assertions.assertEquals(100L, events.get(2).getViews());
+    }
+
+    private static EventWithViews withViews(Event event, Long views) {
+        return new EventWithViews() {
+            @Override
+            public Event getEvent() {
+                return event;
+            }
+
+            @Override
+            public Long getViews() {
+                return views;
+            }
+        };
+    }
+}
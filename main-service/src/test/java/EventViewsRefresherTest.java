@@ -0,0 +1,125 @@
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.StatsClient;
+import ru.practicum.StatsClientProperties;
+import ru.practicum.entity.EventView;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventViewRepository;
+import ru.practicum.service.EventViewsCache;
+import ru.practicum.service.EventViewsRefresher;
+import ru.practicum.service.ResilientStatsClient;
+import ru.practicum.state.EventState;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+public class EventViewsRefresherTest {
+    private static final int TOMCAT_MAX_HEADER_SIZE = 8192;
+    private static final int PUBLISHED_EVENTS = 1200;
+    private static final int BATCH_SIZE = 500;
+
+    private final AtomicInteger statsCalls = new AtomicInteger();
+    private final AtomicInteger maxQueryLength = new AtomicInteger();
+    private ExecutorService stubExecutor;
+    private HttpServer stub;
+    private StatsClient statsClient;
+
+    @BeforeEach
+    public void startStatsStub() throws IOException {
+        stubExecutor = Executors.newCachedThreadPool();
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/stats", exchange -> {
+            statsCalls.incrementAndGet();
+            String query = exchange.getRequestURI().getRawQuery();
+            maxQueryLength.accumulateAndGet(query.length(), Math::max);
+            byte[] response;
+            if (query.length() > TOMCAT_MAX_HEADER_SIZE) {
+                response = new byte[0];
+                exchange.sendResponseHeaders(400, -1);
+            } else {
+                response = Arrays.stream(query.split("&"))
+                    .filter(param -> param.startsWith("uris="))
+                    .map(param -> URLDecoder.decode(param.substring("uris=".length()), StandardCharsets.UTF_8))
+                    .map(uri -> "{\"app\":\"main-service\",\"uri\":\"" + uri + "\",\"hits\":" +
+                        uri.substring(uri.lastIndexOf('/') + 1) + "}")
+                    .collect(Collectors.joining(",", "[", "]"))
+                    .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+            }
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        });
+        stub.setExecutor(stubExecutor);
+        stub.start();
+        statsClient = new StatsClient("localhost", String.valueOf(stub.getAddress().getPort()),
+            new StatsClientProperties(), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    @AfterEach
+    public void stopStatsStub() {
+        statsClient.flushHits();
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRefreshAllBatchesOfPublishedEventsCase() {
+        EventRepository eventRepository = Mockito.mock(EventRepository.class);
+        when(eventRepository.findIdsByState(eq(EventState.PUBLISHED), any())).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(1);
+            List<Long> ids = LongStream.rangeClosed(pageable.getOffset() + 1,
+                    Math.min(pageable.getOffset() + pageable.getPageSize(), PUBLISHED_EVENTS))
+                .boxed()
+                .collect(Collectors.toList());
+            return new SliceImpl<>(ids, pageable, pageable.getOffset() + ids.size() < PUBLISHED_EVENTS);
+        });
+        EventViewRepository eventViewRepository = Mockito.mock(EventViewRepository.class);
+        Clock clock = Clock.systemUTC();
+        ResilientStatsClient resilientStatsClient = new ResilientStatsClient(statsClient, new SimpleMeterRegistry(),
+            clock, 5, Duration.ofSeconds(30), 1, 4, Duration.ofSeconds(5));
+        EventViewsCache eventViewsCache = new EventViewsCache(resilientStatsClient, eventViewRepository, clock,
+            new SimpleMeterRegistry(), Duration.ofMinutes(5), Duration.ofMinutes(1), 10000);
+        EventViewsRefresher refresher = new EventViewsRefresher(eventRepository, eventViewRepository,
+            eventViewsCache, clock, BATCH_SIZE);
+
+        refresher.refresh();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EventView>> savedCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(eventViewRepository, Mockito.times(3)).saveAll(savedCaptor.capture());
+        Map<Long, Long> idsViews = savedCaptor.getAllValues().stream()
+            .flatMap(Collection::stream)
+            .collect(Collectors.toMap(EventView::getEventId, EventView::getViews));
+        Assertions.assertEquals(PUBLISHED_EVENTS, idsViews.size());
+        Assertions.assertEquals(1200L, idsViews.get(1200L));
+        Assertions.assertTrue(maxQueryLength.get() < TOMCAT_MAX_HEADER_SIZE / 2, "query = " + maxQueryLength);
+        Assertions.assertTrue(statsCalls.get() > 3, "stats-service calls = " + statsCalls);
+    }
+}
@@ -0,0 +1,30 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.EndpointHitDto;
+import ru.practicum.HitBuffer;
+import ru.practicum.StatsClientProperties;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class HitBufferTest {
+    @Test
+    public void shouldSendAllHitsOnCloseCase() {
+        StatsClientProperties.HitBuffer settings = new StatsClientProperties.HitBuffer();
+        settings.setBatchSize(100);
+        settings.setLingerMs(500);
+        List<EndpointHitDto> sent = Collections.synchronizedList(new ArrayList<>());
+        HitBuffer hitBuffer = new HitBuffer(settings, sent::addAll);
+
+        for (int i = 0; i < 50; i++) {
+            hitBuffer.add(new EndpointHitDto("main-service", "/events/" + i, "111.111.111.111",
+                LocalDateTime.of(2023, 1, 1, 1, 1, 1)));
+        }
+        hitBuffer.close();
+
+        Assertions.assertEquals(50, sent.size());
+        Assertions.assertEquals(0, hitBuffer.size());
+    }
+}
@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.ExploreWithMeMainService;
+import ru.practicum.dto.output.EventInitiatorDto;
+import ru.practicum.entity.*;
+import ru.practicum.repository.InitiatorStatsRepository;
+import ru.practicum.service.PageRequestSpecifier;
+import ru.practicum.state.EventState;
+import ru.practicum.state.SubscriptionState;
+import ru.practicum.state.UserProfileState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ContextConfiguration(classes = {ExploreWithMeMainService.class})
+@DataJpaTest
+@AutoConfigureTestDatabase
+public class InitiatorStatsRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private InitiatorStatsRepository repository;
+    private User user1;
+    private User user2;
+    private User user3;
+
+    @BeforeEach
+    public void createEntitiesAndEnvironment() {
+        this.user1 = new User(null, "testUser1", "testUser1@mail.ru", UserProfileState.PUBLIC);
+        this.user2 = new User(null, "testUser2", "testUser2@mail.ru", UserProfileState.PRIVATE);
+        this.user3 = new User(null, "testUser3", "testUser3@mail.ru", UserProfileState.PUBLIC);
+        entityManager.persist(user1);
+        entityManager.persist(user2);
+        entityManager.persist(user3);
+        entityManager.persist(new InitiatorStats(user1.getId(), 2L, 0L));
+        entityManager.persist(new InitiatorStats(user2.getId(), 1L, 3L));
+        entityManager.persist(new InitiatorStats(user3.getId(), 1L, 1L));
+    }
+
+    @Test
+    public void shouldFindMostInitiativeCase() {
+        Slice<EventInitiatorDto> actual = repository.findMostInitiative(null, Long.MAX_VALUE, Long.MAX_VALUE,
+            PageRequestSpecifier.getPageRequest(0, 2, Sort.unsorted()));
+        Assertions.assertEquals(List.of(user1.getId(), user3.getId()), getIds(actual));
+        Assertions.assertTrue(actual.hasNext());
+        Slice<EventInitiatorDto> next = repository.findMostInitiative(null, 1L, user3.getId(),
+            PageRequestSpecifier.getPageRequest(0, 2, Sort.unsorted()));
+        Assertions.assertEquals(List.of(user2.getId()), getIds(next));
+        Assertions.assertFalse(next.hasNext());
+    }
+
+    @Test
+    public void shouldFindMostPopularByProfileCase() {
+        Slice<EventInitiatorDto> actual = repository.findMostPopular(UserProfileState.PUBLIC, Long.MAX_VALUE,
+            Long.MAX_VALUE, PageRequestSpecifier.getPageRequest(0, 10, Sort.unsorted()));
+        Assertions.assertEquals(List.of(user3.getId(), user1.getId()), getIds(actual));
+        Assertions.assertEquals(2L, repository.countByProfile(UserProfileState.PUBLIC));
+    }
+
+    @Test
+    public void shouldAddCountersCase() {
+        repository.addPublishedEvents(user3.getId(), 5);
+        repository.addConfirmedSubscribers(user3.getId(), -1);
+        entityManager.clear();
+        InitiatorStats actual = repository.findById(user3.getId()).orElseThrow();
+        Assertions.assertEquals(6L, actual.getPublishedEvents());
+        Assertions.assertEquals(0L, actual.getConfirmedSubscribers());
+    }
+
+    @Test
+    public void shouldReconcileStatsCase() {
+        Category category = new Category(null, "testCategory");
+        entityManager.persist(category);
+        entityManager.persist(new Event(null, "annotation1ForTestLengthMoreThan20", category, LocalDateTime.now(),
+            "description1ForTestLengthMoreThan20", LocalDateTime.of(2030, 1, 1, 1, 1, 1), user2,
+            new Location(), false, 0, LocalDateTime.now(), true, EventState.PUBLISHED, "title1", 0L));
+        Subscription subscription = new Subscription();
+        subscription.setSubscriber(user3);
+        subscription.setSubscribedTo(user1);
+        subscription.setState(SubscriptionState.CONFIRMED);
+        entityManager.persist(subscription);
+        entityManager.flush();
+        Assertions.assertEquals(3, repository.reconcileStats());
+        entityManager.clear();
+        Assertions.assertEquals(new InitiatorStats(user1.getId(), 0L, 1L), repository.findById(user1.getId())
+            .orElseThrow());
+        Assertions.assertEquals(new InitiatorStats(user2.getId(), 1L, 0L), repository.findById(user2.getId())
+            .orElseThrow());
+        Assertions.assertEquals(new InitiatorStats(user3.getId(), 0L, 0L), repository.findById(user3.getId())
+            .orElseThrow());
+    }
+
+    private List<Long> getIds(Slice<EventInitiatorDto> initiators) {
+        return initiators.getContent().stream().map(EventInitiatorDto::getId).collect(Collectors.toList());
+    }
+}
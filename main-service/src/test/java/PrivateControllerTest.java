@@ -10,11 +10,13 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.ExploreWithMeMainService;
 import ru.practicum.controller.PrivateController;
+import ru.practicum.dto.output.AdmissionTicketDto;
 import ru.practicum.dto.output.SubscriptionDto;
 import ru.practicum.entity.Subscription;
 import ru.practicum.entity.User;
 import ru.practicum.mapper.SubscriptionMapper;
 import ru.practicum.service.*;
+import ru.practicum.state.AdmissionState;
 import ru.practicum.state.SubscriptionState;
 import ru.practicum.state.UserProfileState;
 
@@ -23,6 +25,7 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,6 +40,8 @@ public class PrivateControllerTest {
     @MockBean
     private RequestService requestService;
     @MockBean
+    private RequestAdmissionQueue requestAdmissionQueue;
+    @MockBean
     private UserService userService;
 
     @SneakyThrows
@@ -55,4 +60,17 @@ public class PrivateControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$[0].from.id").value(1L));
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    public void shouldQueueParticipationRequestCase() {
+        AdmissionTicketDto ticket = new AdmissionTicketDto("ticket", 2L, 1L, AdmissionState.QUEUED, null, null);
+        when(requestAdmissionQueue.submit(1L, 2L)).thenReturn(ticket);
+        mockMvc.perform(post("/users/{userId}/requests/queue", 1L)
+                .param("eventId", "2")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.id").value("ticket"))
+            .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.ExploreWithMeMainService;
 import ru.practicum.controller.PublicController;
+import ru.practicum.dto.output.CursorPage;
 import ru.practicum.dto.output.EventInitiatorDto;
 import ru.practicum.service.CategoryService;
 import ru.practicum.service.CompilationService;
@@ -19,7 +20,10 @@ import ru.practicum.state.UserProfileState;
 
 import java.util.List;
 
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -46,10 +50,24 @@ public class PublicControllerTest {
         eventInitiatorDto.setId(1L);
         eventInitiatorDto.setName("test");
         eventInitiatorDto.setProfile(UserProfileState.PRIVATE);
-        when(userService.getInitiators(any(), any(), any(), any())).thenReturn(List.of(eventInitiatorDto));
+        when(userService.getInitiators(any(), any(), any(), any(), any())).thenReturn(new CursorPage<>(
+            List.of(eventInitiatorDto), null, () -> 1L));
         mockMvc.perform(get("/initiators")
                 .param("sort", "MOST_POPULAR")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk());
     }
+
+    @SneakyThrows
+    @Test
+    public void shouldGetEventsByIdsCase() {
+        when(eventService.getEventsPublicByIds(any(), any())).thenReturn(List.of());
+        mockMvc.perform(get("/events")
+                .param("ids", "1,2,3")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk());
+        verify(eventService).getEventsPublicByIds(aryEq(new Long[]{1L, 2L, 3L}), any());
+        verify(eventService, never()).getEventsPublic(any(), any(), any(), any(), any(), any(), any(), any(), any(),
+            any(), any());
+    }
 }
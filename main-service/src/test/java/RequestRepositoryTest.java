@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.ExploreWithMeMainService;
+import ru.practicum.entity.*;
+import ru.practicum.mapper.RequestMapper;
+import ru.practicum.repository.RequestRepository;
+import ru.practicum.state.EventState;
+import ru.practicum.state.RequestState;
+import ru.practicum.state.UserProfileState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ContextConfiguration(classes = {ExploreWithMeMainService.class})
+@DataJpaTest
+@AutoConfigureTestDatabase
+public class RequestRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RequestRepository repository;
+    private Event event1;
+    private Event event2;
+    private Request request1;
+    private Request request2;
+    private Request request3;
+    private Request request4;
+
+    @BeforeEach
+    public void createEntitiesAndEnvironment() {
+        User initiator = new User(null, "testInitiator", "testInitiator@mail.ru", UserProfileState.PUBLIC);
+        User user1 = new User(null, "testUser1", "testUser1@mail.ru", UserProfileState.PUBLIC);
+        User user2 = new User(null, "testUser2", "testUser2@mail.ru", UserProfileState.PUBLIC);
+        entityManager.persist(initiator);
+        entityManager.persist(user1);
+        entityManager.persist(user2);
+        Category category = new Category(null, "testCategory");
+        entityManager.persist(category);
+        this.event1 = new Event(null, "annotation1ForTestLengthMoreThan20", category, LocalDateTime.now(),
+            "description1ForTestLengthMoreThan20", LocalDateTime.of(2030, 1, 1, 1, 1, 1), initiator,
+            new Location(), false, 1, LocalDateTime.now(), true, EventState.PUBLISHED, "title1", 0L);
+        this.event2 = new Event(null, "annotation2ForTestLengthMoreThan20", category, LocalDateTime.now(),
+            "description2ForTestLengthMoreThan20", LocalDateTime.of(2030, 1, 1, 1, 1, 1), initiator,
+            new Location(), false, 1, LocalDateTime.now(), true, EventState.PUBLISHED, "title2", 0L);
+        entityManager.persist(event1);
+        entityManager.persist(event2);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 1, 1, 1);
+        this.request1 = RequestMapper.toRequest(user1, event1, created, RequestState.PENDING);
+        this.request2 = RequestMapper.toRequest(user2, event1, created, RequestState.CONFIRMED);
+        this.request3 = RequestMapper.toRequest(user1, event2, created, RequestState.PENDING);
+        this.request4 = RequestMapper.toRequest(user2, event2, created, RequestState.PENDING);
+        entityManager.persist(request1);
+        entityManager.persist(request2);
+        entityManager.persist(request3);
+        entityManager.persist(request4);
+    }
+
+    @Test
+    public void shouldFindAllByEventIdAndStateCase() {
+        List<Request> actual = repository.findAllByEventIdAndState(event2.getId(), RequestState.PENDING);
+        Assertions.assertEquals(List.of(request3.getId(), request4.getId()),
+            actual.stream().map(Request::getId).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldRejectPendingRequestsOnlyForEventCase() {
+        int actual = repository.rejectPendingRequests(event1.getId());
+        Assertions.assertEquals(1, actual);
+        Assertions.assertEquals(RequestState.REJECTED, repository.findById(request1.getId()).orElseThrow().getState());
+        Assertions.assertEquals(RequestState.CONFIRMED,
+            repository.findById(request2.getId()).orElseThrow().getState());
+        Assertions.assertEquals(2, repository.findAllByIdInAndState(List.of(request3.getId(), request4.getId()),
+            RequestState.PENDING).size());
+    }
+}
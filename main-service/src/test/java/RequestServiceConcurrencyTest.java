@@ -0,0 +1,156 @@
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.ExploreWithMeMainService;
+import ru.practicum.dto.output.AdmissionTicketDto;
+import ru.practicum.entity.*;
+import ru.practicum.exception.IllegalActionException;
+import ru.practicum.repository.CategoryRepository;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.RequestRepository;
+import ru.practicum.repository.UserRepository;
+import ru.practicum.service.RequestAdmissionQueue;
+import ru.practicum.service.RequestService;
+import ru.practicum.state.AdmissionState;
+import ru.practicum.state.EventState;
+import ru.practicum.state.RequestState;
+import ru.practicum.state.UserProfileState;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(classes = ExploreWithMeMainService.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = "spring.jpa.properties.hibernate.show_sql=false")
+public class RequestServiceConcurrencyTest {
+    private static final int PARTICIPANT_LIMIT = 500;
+    private static final int REQUESTERS = 2000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private RequestService requestService;
+    @Autowired
+    private RequestAdmissionQueue requestAdmissionQueue;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private RequestRepository requestRepository;
+    private Event event;
+    private List<User> requesters;
+
+    @BeforeEach
+    public void createEntitiesAndEnvironment() {
+        String prefix = "stress" + System.nanoTime();
+        User initiator = userRepository.save(new User(null, prefix, prefix + "@mail.ru",
+            UserProfileState.PUBLIC));
+        Category category = categoryRepository.save(new Category(null, prefix));
+        this.event = eventRepository.save(new Event(null, "annotationForStressTestLengthMoreThan20", category,
+            LocalDateTime.now(), "descriptionForStressTestLengthMoreThan20",
+            LocalDateTime.of(2030, 1, 1, 1, 1, 1), initiator, new Location(),
+            false, PARTICIPANT_LIMIT, LocalDateTime.now(), false,
+            EventState.PUBLISHED, "stressTitle", 0L));
+        List<User> users = new ArrayList<>(REQUESTERS);
+        for (int i = 0; i < REQUESTERS; i++) {
+            users.add(new User(null, prefix + "_" + i, prefix + "_" + i + "@mail.ru", UserProfileState.PUBLIC));
+        }
+        this.requesters = userRepository.saveAll(users);
+    }
+
+    @Test
+    public void shouldNotExceedParticipantLimitUnderConcurrentRequestsCase() throws Exception {
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger limitReached = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(REQUESTERS);
+        for (User requester : requesters) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    requestService.addParticipationRequest(requester.getId(), event.getId());
+                    confirmed.incrementAndGet();
+                } catch (IllegalActionException exp) {
+                    limitReached.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        log.info("{} concurrent participation requests on {} threads processed in {} ms, {} req/s",
+            REQUESTERS, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            REQUESTERS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+
+        Assertions.assertEquals(PARTICIPANT_LIMIT, confirmed.get());
+        Assertions.assertEquals(REQUESTERS - PARTICIPANT_LIMIT, limitReached.get());
+        assertParticipantLimitIsNotExceeded();
+    }
+
+    @Test
+    public void shouldNotExceedParticipantLimitUnderQueuedRequestsCase() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AdmissionTicketDto>> futures = new ArrayList<>(REQUESTERS);
+        for (User requester : requesters) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return requestAdmissionQueue.submit(requester.getId(), event.getId());
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        List<AdmissionTicketDto> tickets = new ArrayList<>(REQUESTERS);
+        for (Future<AdmissionTicketDto> future : futures) {
+            tickets.add(future.get(1, TimeUnit.MINUTES));
+        }
+        executor.shutdown();
+        int admitted = 0;
+        int rejected = 0;
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        for (AdmissionTicketDto ticket : tickets) {
+            AdmissionTicketDto decided = requestAdmissionQueue.getTicket(ticket.getRequester(), ticket.getId());
+            while (decided.getStatus() == AdmissionState.QUEUED && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+                decided = requestAdmissionQueue.getTicket(ticket.getRequester(), ticket.getId());
+            }
+            if (decided.getStatus() == AdmissionState.ADMITTED) {
+                admitted++;
+            } else if (decided.getStatus() == AdmissionState.REJECTED) {
+                rejected++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        log.info("{} queued participation requests on {} threads decided in {} ms, {} req/s",
+            REQUESTERS, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            REQUESTERS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+
+        Assertions.assertEquals(PARTICIPANT_LIMIT, admitted);
+        Assertions.assertEquals(REQUESTERS - PARTICIPANT_LIMIT, rejected);
+        assertParticipantLimitIsNotExceeded();
+    }
+
+    private void assertParticipantLimitIsNotExceeded() {
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        Assertions.assertEquals(PARTICIPANT_LIMIT, saved.getConfirmedRequests());
+        Assertions.assertEquals(PARTICIPANT_LIMIT, requestRepository.findAllByEvent(saved).stream()
+            .filter(request -> request.getState() == RequestState.CONFIRMED)
+            .count());
+    }
+}
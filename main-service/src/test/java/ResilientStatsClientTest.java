@@ -0,0 +1,170 @@
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import ru.practicum.StatsClient;
+import ru.practicum.StatsClientProperties;
+import ru.practicum.ViewStats;
+import ru.practicum.service.ResilientStatsClient;
+import ru.practicum.state.CircuitState;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+public class ResilientStatsClientTest {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 1, 1, 0, 0, 0);
+    private static final String[] URIS = {"/events/1"};
+    private static final byte[] RESPONSE = "[{\"app\":\"main-service\",\"uri\":\"/events/1\",\"hits\":10}]"
+        .getBytes(StandardCharsets.UTF_8);
+    private static final Duration CALL_TIMEOUT = Duration.ofMillis(100);
+
+    private final AtomicInteger stubCalls = new AtomicInteger();
+    private final CountDownLatch stubRelease = new CountDownLatch(1);
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2023-06-01T00:00:00Z"));
+    private volatile boolean stubBlocked;
+    private volatile int stubStatus = 200;
+    private ExecutorService stubExecutor;
+    private HttpServer stub;
+    private StatsClient statsClient;
+    private MeterRegistry meterRegistry;
+    private Clock clock;
+
+    @BeforeEach
+    public void startStatsStub() throws IOException {
+        stubExecutor = Executors.newCachedThreadPool();
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/stats", exchange -> {
+            stubCalls.incrementAndGet();
+            if (stubBlocked) {
+                try {
+                    stubRelease.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException exp) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(stubStatus, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        stub.setExecutor(stubExecutor);
+        stub.start();
+        statsClient = new StatsClient("localhost", String.valueOf(stub.getAddress().getPort()),
+            new StatsClientProperties(), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        meterRegistry = new SimpleMeterRegistry();
+        clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.instant()).thenAnswer(invocation -> now.get());
+    }
+
+    @AfterEach
+    public void stopStatsStub() {
+        stubRelease.countDown();
+        statsClient.flushHits();
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldFallBackWithoutCallingStatsWhenStatsIsSlowCase() {
+        ResilientStatsClient client = createClient(3, 16, CALL_TIMEOUT);
+        stubBlocked = true;
+        long[] latencies = new long[200];
+        for (int i = 0; i < latencies.length; i++) {
+            long startedAt = System.nanoTime();
+            Assertions.assertTrue(client.getStats(START, END, URIS, true).isEmpty());
+            latencies[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(latencies);
+        log.info("Stats-service not answering, fallback p50 = {} us, p99 = {} ms",
+            TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length / 2]),
+            TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]));
+
+        Assertions.assertEquals(CircuitState.OPEN, client.getCircuitState());
+        Assertions.assertEquals(3, getFallbacks("timeout"));
+        Assertions.assertEquals(197, getFallbacks("circuit_open"));
+        Assertions.assertTrue(stubCalls.get() <= 3, "stats-service calls = " + stubCalls.get());
+    }
+
+    @Test
+    public void shouldProbeAndCloseCircuitWhenStatsRecoversCase() {
+        ResilientStatsClient client = createClient(2, 16, Duration.ofSeconds(10));
+        stubStatus = 500;
+        client.getStats(START, END, URIS, true);
+        client.getStats(START, END, URIS, true);
+        Assertions.assertEquals(CircuitState.OPEN, client.getCircuitState());
+        Assertions.assertEquals(2, getFallbacks("error"));
+
+        stubStatus = 200;
+        Assertions.assertTrue(client.getStats(START, END, URIS, true).isEmpty());
+        Assertions.assertEquals(1, getFallbacks("circuit_open"));
+        Assertions.assertEquals(2, stubCalls.get());
+
+        now.set(now.get().plus(Duration.ofSeconds(31)));
+        Optional<List<ViewStats>> actual = client.getStats(START, END, URIS, true);
+
+        Assertions.assertTrue(actual.isPresent());
+        Assertions.assertEquals(10L, actual.get().get(0).getHits());
+        Assertions.assertEquals(CircuitState.CLOSED, client.getCircuitState());
+        Assertions.assertEquals(3, stubCalls.get());
+    }
+
+    @Test
+    public void shouldRejectCallsOverBulkheadCase() throws Exception {
+        ResilientStatsClient client = createClient(100, 2, CALL_TIMEOUT);
+        stubBlocked = true;
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(callers.submit(() -> {
+                start.await();
+                long startedAt = System.nanoTime();
+                Assertions.assertTrue(client.getStats(START, END, URIS, true).isEmpty());
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            }));
+        }
+        start.countDown();
+        List<Long> latencies = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            latencies.add(future.get(10, TimeUnit.SECONDS));
+        }
+        callers.shutdown();
+        log.info("Callers with a full bulkhead answered in {} ms", latencies);
+
+        Assertions.assertEquals(6, getFallbacks("bulkhead_full"));
+        Assertions.assertEquals(2, getFallbacks("timeout"));
+        Assertions.assertEquals(CircuitState.CLOSED, client.getCircuitState());
+        Assertions.assertTrue(stubCalls.get() <= 2, "stats-service calls = " + stubCalls.get());
+    }
+
+    private ResilientStatsClient createClient(int failureThreshold, int maxConcurrentCalls, Duration callTimeout) {
+        return new ResilientStatsClient(statsClient, meterRegistry, clock, failureThreshold, Duration.ofSeconds(30),
+            1, maxConcurrentCalls, callTimeout);
+    }
+
+    private long getFallbacks(String reason) {
+        return (long) meterRegistry.get("stats.client.fallbacks").tag("reason", reason).counter().count();
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,13 +14,15 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.*;
 
 import javax.validation.*;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +34,8 @@ import static org.mockito.Mockito.*;
 public class StatsClientTest {
     @Autowired
     StatsClient statsClient;
+    @Autowired
+    MeterRegistry meterRegistry;
 
     @Mock
     RestTemplate restTemplateMock;
@@ -41,9 +46,7 @@ public class StatsClientTest {
     String[] uri;
     Boolean unique;
     @Captor
-    ArgumentCaptor<String> urlCaptor;
-    @Captor
-    ArgumentCaptor<Map<String, Object>> mapCaptor;
+    ArgumentCaptor<URI> uriCaptor;
 
     @BeforeEach
     public void setRestTemplateMock() {
@@ -112,36 +115,87 @@ public class StatsClientTest {
         Assertions.assertEquals(response.getBody(), actual.getBody());
     }
 
+    @Test
+    public void shouldRecordHitThroughBufferCase() {
+        ResponseEntity<Object> response = new ResponseEntity<>(HttpStatus.CREATED);
+        when(restTemplateMock.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+            ArgumentMatchers.<Class<Object>>any())).thenReturn(response);
+        statsClient.recordHit(hitDto);
+        statsClient.recordHit(hitDto);
+        verify(restTemplateMock, timeout(2000).atLeastOnce()).exchange(eq("/hits/batch"), eq(HttpMethod.POST),
+            any(HttpEntity.class), ArgumentMatchers.<Class<Object>>any());
+    }
+
+    @Test
+    public void shouldRecordHitIfEndpointHitDtoNullCase() {
+        ConstraintViolationException exp = Assertions.assertThrows(ConstraintViolationException.class,
+            () -> statsClient.recordHit(null));
+        Assertions.assertEquals("recordHit.hitDto: не должно быть null", exp.getMessage());
+    }
+
+    @Test
+    public void shouldSaveHitsStandardCase() {
+        ResponseEntity<Object> response = new ResponseEntity<>(HttpStatus.CREATED);
+        when(restTemplateMock.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+            ArgumentMatchers.<Class<Object>>any())).thenReturn(response);
+        ResponseEntity<Object> actual = statsClient.saveHits(List.of(hitDto, hitDto));
+        verify(restTemplateMock).exchange(eq("/hits/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+            ArgumentMatchers.<Class<Object>>any());
+        Assertions.assertEquals(response.getStatusCode(), actual.getStatusCode());
+    }
+
+    @Test
+    public void shouldSaveHitsIfListIsEmptyCase() {
+        ConstraintViolationException exp = Assertions.assertThrows(ConstraintViolationException.class,
+            () -> statsClient.saveHits(List.of()));
+        Assertions.assertEquals("saveHits.hitDtoList: не должно быть пустым", exp.getMessage());
+    }
+
     @Test
     public void shouldGetStatsStandardCase() {
         ResponseEntity<List<ViewStats>> response = new ResponseEntity<>(List.of(new ViewStats("test", "/event", 2L)),
             HttpStatus.OK);
-        when(restTemplateMock.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
-            ArgumentMatchers.<ParameterizedTypeReference<List<ViewStats>>>any(), anyMap())).thenReturn(response);
+        when(restTemplateMock.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class))).thenReturn(response);
 
         List<ViewStats> actual = statsClient.getStats(start, end, uri, unique);
 
-        verify(restTemplateMock).exchange(urlCaptor.capture(), any(), any(),
-            ArgumentMatchers.<ParameterizedTypeReference<List<ViewStats>>>any(), mapCaptor.capture());
-
-        String urlExpected = "/stats?start={start}&end={end}&uris={uri}&unique={unique}";
-
-        Assertions.assertEquals(urlCaptor.getValue(), urlExpected);
-        Assertions.assertEquals(mapCaptor.getValue().get("start"), DateTimeParser.parseToString(start));
-        Assertions.assertEquals(mapCaptor.getValue().get("end"), DateTimeParser.parseToString(end));
-        Assertions.assertEquals(mapCaptor.getValue().get("uri"), uri);
-        Assertions.assertEquals(mapCaptor.getValue().get("unique"), unique);
+        verify(restTemplateMock).exchange(uriCaptor.capture(), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class));
+        Assertions.assertEquals("/stats?start=2022-01-01+01%3A01%3A01&end=2023-01-01+01%3A01%3A01" +
+            "&uris=%2Fevents&uris=%2Fevents%2F1&unique=true", uriCaptor.getValue().getRawPath() + "?" +
+            uriCaptor.getValue().getRawQuery());
 
         Assertions.assertEquals(response.getBody(), actual);
     }
 
+    @Test
+    public void shouldSplitGetStatsByUrisLengthCase() {
+        String[] manyUris = new String[1000];
+        for (int i = 0; i < manyUris.length; i++) {
+            manyUris[i] = "/events/" + i;
+        }
+        when(restTemplateMock.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class)))
+            .thenReturn(new ResponseEntity<>(List.of(new ViewStats("test", "/events/1", 1L)), HttpStatus.OK))
+            .thenReturn(new ResponseEntity<>(List.of(new ViewStats("test", "/events/999", 5L)), HttpStatus.OK));
+
+        List<ViewStats> actual = statsClient.getStats(start, end, manyUris, unique);
+
+        verify(restTemplateMock, atLeast(2)).exchange(uriCaptor.capture(), eq(HttpMethod.GET),
+            any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        Assertions.assertTrue(uriCaptor.getAllValues().stream()
+            .allMatch(part -> part.getRawQuery().length() <= 4000 + 100));
+        Assertions.assertEquals("/events/999", actual.get(0).getUri());
+    }
+
     @Test
     public void shouldGetStatsStartNullCase() {
         ConstraintViolationException epx = Assertions.assertThrows(ConstraintViolationException.class,
             () -> statsClient.getStats(null, end, uri, unique));
         Assertions.assertEquals("getStats.startDate: не должно быть null", epx.getMessage());
-        verify(restTemplateMock, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
-            ArgumentMatchers.<Class<Object>>any(), anyMap());
+        verify(restTemplateMock, never()).exchange(any(URI.class), any(HttpMethod.class), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class));
     }
 
     @Test
@@ -149,29 +203,66 @@ public class StatsClientTest {
         ConstraintViolationException epx = Assertions.assertThrows(ConstraintViolationException.class,
             () -> statsClient.getStats(start, null, uri, unique));
         Assertions.assertEquals("getStats.endDate: не должно быть null", epx.getMessage());
-        verify(restTemplateMock, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
-            ArgumentMatchers.<Class<Object>>any(), anyMap());
+        verify(restTemplateMock, never()).exchange(any(URI.class), any(HttpMethod.class), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    public void shouldGetStatsAsyncStartNullCase() {
+        ConstraintViolationException epx = Assertions.assertThrows(ConstraintViolationException.class,
+            () -> statsClient.getStatsAsync(null, end, uri, unique));
+        Assertions.assertEquals("getStatsAsync.startDate: не должно быть null", epx.getMessage());
+    }
+
+    @Test
+    public void shouldFailGetStatsAsyncWhenStatsIsUnreachableCase() {
+        when(restTemplateMock.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class))).thenThrow(new ResourceAccessException("refused"));
+        CompletionException exp = Assertions.assertThrows(CompletionException.class,
+            () -> statsClient.getStatsAsync(start, end, uri, unique).join());
+        Assertions.assertInstanceOf(ResourceAccessException.class, exp.getCause());
+    }
+
+    @Test
+    public void shouldGetStatsAsyncThroughPooledRestTemplateCase() {
+        ResponseEntity<List<ViewStats>> response = new ResponseEntity<>(List.of(new ViewStats("test", "/events/1",
+            2L)), HttpStatus.OK);
+        when(restTemplateMock.exchange(uriCaptor.capture(), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class))).thenReturn(response);
+
+        List<ViewStats> actual = statsClient.getStatsAsync(start, end, uri, unique).join();
+
+        Assertions.assertEquals(response.getBody(), actual);
+        Assertions.assertEquals("/stats?start=2022-01-01+01%3A01%3A01&end=2023-01-01+01%3A01%3A01" +
+            "&uris=%2Fevents&uris=%2Fevents%2F1&unique=true", uriCaptor.getValue().getRawPath() + "?" +
+            uriCaptor.getValue().getRawQuery());
+    }
+
+    @Test
+    public void shouldSaveHitAsyncThroughPooledRestTemplateCase() {
+        when(restTemplateMock.exchange(eq("/hit"), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+            .thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+
+        statsClient.saveHitAsync(hitDto).join();
+
+        verify(restTemplateMock).exchange(eq("/hit"), eq(HttpMethod.POST), eq(new HttpEntity<>(hitDto)),
+            eq(Object.class));
     }
 
     @Test
     public void shouldGetStatsUriNullCase() {
         ResponseEntity<List<ViewStats>> response = new ResponseEntity<>(List.of(new ViewStats("test", "/event", 2L)),
             HttpStatus.OK);
-        when(restTemplateMock.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
-            ArgumentMatchers.<ParameterizedTypeReference<List<ViewStats>>>any(), anyMap())).thenReturn(response);
+        when(restTemplateMock.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class))).thenReturn(response);
 
         List<ViewStats> actual = statsClient.getStats(start, end, null, unique);
 
-        verify(restTemplateMock).exchange(urlCaptor.capture(), any(), any(),
-            ArgumentMatchers.<ParameterizedTypeReference<List<ViewStats>>>any(), mapCaptor.capture());
-
-        String urlExpected = "/stats?start={start}&end={end}&unique={unique}";
-
-        Assertions.assertEquals(urlCaptor.getValue(), urlExpected);
-        Assertions.assertFalse(mapCaptor.getValue().containsKey("uri"));
-        Assertions.assertEquals(mapCaptor.getValue().get("start"), DateTimeParser.parseToString(start));
-        Assertions.assertEquals(mapCaptor.getValue().get("end"), DateTimeParser.parseToString(end));
-        Assertions.assertEquals(mapCaptor.getValue().get("unique"), unique);
+        verify(restTemplateMock).exchange(uriCaptor.capture(), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class));
+        Assertions.assertEquals("/stats?start=2022-01-01+01%3A01%3A01&end=2023-01-01+01%3A01%3A01" +
+            "&unique=true", uriCaptor.getValue().getRawPath() + "?" +
+            uriCaptor.getValue().getRawQuery());
 
         Assertions.assertEquals(response.getBody(), actual);
     }
@@ -180,21 +271,16 @@ public class StatsClientTest {
     public void shouldGetStatsUniqueNullCase() {
         ResponseEntity<List<ViewStats>> response = new ResponseEntity<>(List.of(new ViewStats("test", "/event", 2L)),
             HttpStatus.OK);
-        when(restTemplateMock.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
-            ArgumentMatchers.<ParameterizedTypeReference<List<ViewStats>>>any(), anyMap())).thenReturn(response);
+        when(restTemplateMock.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class))).thenReturn(response);
 
         List<ViewStats> actual = statsClient.getStats(start, end, uri, null);
 
-        verify(restTemplateMock).exchange(urlCaptor.capture(), any(), any(),
-            ArgumentMatchers.<ParameterizedTypeReference<List<ViewStats>>>any(), mapCaptor.capture());
-
-        String urlExpected = "/stats?start={start}&end={end}&uris={uri}";
-
-        Assertions.assertEquals(urlCaptor.getValue(), urlExpected);
-        Assertions.assertFalse(mapCaptor.getValue().containsKey("unique"));
-        Assertions.assertEquals(mapCaptor.getValue().get("start"), DateTimeParser.parseToString(start));
-        Assertions.assertEquals(mapCaptor.getValue().get("end"), DateTimeParser.parseToString(end));
-        Assertions.assertEquals(mapCaptor.getValue().get("uri"), uri);
+        verify(restTemplateMock).exchange(uriCaptor.capture(), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class));
+        Assertions.assertEquals("/stats?start=2022-01-01+01%3A01%3A01&end=2023-01-01+01%3A01%3A01" +
+            "&uris=%2Fevents&uris=%2Fevents%2F1", uriCaptor.getValue().getRawPath() + "?" +
+            uriCaptor.getValue().getRawQuery());
 
         Assertions.assertEquals(response.getBody(), actual);
     }
@@ -203,21 +289,15 @@ public class StatsClientTest {
     public void shouldGetStatsUniqueAndUriNullCase() {
         ResponseEntity<List<ViewStats>> response = new ResponseEntity<>(List.of(new ViewStats("test", "/event", 2L)),
             HttpStatus.OK);
-        when(restTemplateMock.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
-            ArgumentMatchers.<ParameterizedTypeReference<List<ViewStats>>>any(), anyMap())).thenReturn(response);
+        when(restTemplateMock.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class))).thenReturn(response);
 
         List<ViewStats> actual = statsClient.getStats(start, end, null, null);
 
-        verify(restTemplateMock).exchange(urlCaptor.capture(), any(), any(),
-            ArgumentMatchers.<ParameterizedTypeReference<List<ViewStats>>>any(), mapCaptor.capture());
-
-        String urlExpected = "/stats?start={start}&end={end}";
-
-        Assertions.assertEquals(urlCaptor.getValue(), urlExpected);
-        Assertions.assertFalse(mapCaptor.getValue().containsKey("unique"));
-        Assertions.assertFalse(mapCaptor.getValue().containsKey("uri"));
-        Assertions.assertEquals(mapCaptor.getValue().get("start"), DateTimeParser.parseToString(start));
-        Assertions.assertEquals(mapCaptor.getValue().get("end"), DateTimeParser.parseToString(end));
+        verify(restTemplateMock).exchange(uriCaptor.capture(), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class));
+        Assertions.assertEquals("/stats?start=2022-01-01+01%3A01%3A01&end=2023-01-01+01%3A01%3A01",
+            uriCaptor.getValue().getRawPath() + "?" + uriCaptor.getValue().getRawQuery());
 
         Assertions.assertEquals(response.getBody(), actual);
     }
@@ -228,7 +308,33 @@ public class StatsClientTest {
         InvalidStartEndTimeException exp = Assertions.assertThrows(InvalidStartEndTimeException.class,
             () -> statsClient.getStats(start, end, uri, unique));
         Assertions.assertEquals("Дата начала должна быть ранее даты окончания", exp.getMessage());
-        verify(restTemplateMock, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
-            ArgumentMatchers.<Class<Object>>any(), anyMap());
+        verify(restTemplateMock, never()).exchange(any(URI.class), any(HttpMethod.class), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    public void shouldCountStatsRequestsCase() {
+        ResponseEntity<List<ViewStats>> response = new ResponseEntity<>(List.of(), HttpStatus.OK);
+        when(restTemplateMock.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class))).thenReturn(response);
+        double before = meterRegistry.get("stats.client.requests").tag("operation", "stats").counter().count();
+
+        statsClient.getStats(start, end, uri, unique);
+        statsClient.getStats(start, end, null, unique);
+
+        Assertions.assertEquals(before + 2,
+            meterRegistry.get("stats.client.requests").tag("operation", "stats").counter().count());
+    }
+
+    @Test
+    public void shouldRegisterConnectionPoolGaugesCase() {
+        Assertions.assertEquals(50.0, meterRegistry.get("stats.client.pool.connections").tag("state", "max").gauge()
+            .value());
+        Assertions.assertEquals(0.0, meterRegistry.get("stats.client.pool.connections").tag("state", "leased")
+            .gauge().value());
+        Assertions.assertNotNull(meterRegistry.get("stats.client.pool.connections").tag("state", "available")
+            .gauge());
+        Assertions.assertNotNull(meterRegistry.get("stats.client.pool.connections").tag("state", "pending")
+            .gauge());
     }
-}
\ No newline at end of file
+}
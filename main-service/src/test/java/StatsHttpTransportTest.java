@@ -0,0 +1,60 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.StatsClientProperties;
+import ru.practicum.StatsHttpTransport;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class StatsHttpTransportTest {
+    private SimpleMeterRegistry meterRegistry;
+    private StatsHttpTransport transport;
+
+    @BeforeEach
+    public void createTransport() {
+        StatsClientProperties.Http settings = new StatsClientProperties.Http();
+        settings.setMaxTotal(1);
+        settings.setMaxPerRoute(1);
+        settings.setAsyncQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        transport = new StatsHttpTransport(settings, meterRegistry);
+    }
+
+    @AfterEach
+    public void closeTransport() {
+        transport.close();
+    }
+
+    @Test
+    public void shouldRejectAsyncCallsOverPoolAndQueueCapacityCase() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> running = transport.supplyAsync(() -> await(release, 1));
+        CompletableFuture<Integer> queued = transport.supplyAsync(() -> await(release, 2));
+
+        CompletableFuture<Integer> rejected = transport.supplyAsync(() -> 3);
+
+        CompletionException exp = Assertions.assertThrows(CompletionException.class, rejected::join);
+        Assertions.assertInstanceOf(ResourceAccessException.class, exp.getCause());
+        Assertions.assertEquals(2.0, meterRegistry.get("stats.client.async.calls").gauge().value());
+        release.countDown();
+        Assertions.assertEquals(1, running.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, queued.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(4, transport.supplyAsync(() -> 4).get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0.0, meterRegistry.get("stats.client.async.calls").gauge().value());
+    }
+
+    private int await(CountDownLatch latch, int result) {
+        try {
+            latch.await();
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
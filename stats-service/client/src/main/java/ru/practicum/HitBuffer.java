@@ -0,0 +1,192 @@
+package ru.practicum;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Slf4j
+public class HitBuffer implements AutoCloseable {
+    private static final String SPILL_FILE_NAME = "stats-hits-spill.jsonl";
+    private static final String DRAIN_FILE_NAME = "stats-hits-spill.draining";
+
+    private final BlockingDeque<EndpointHitDto> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final HitOverflowPolicy overflowPolicy;
+    private final Path spillFile;
+    private final Path drainFile;
+    private final Consumer<List<EndpointHitDto>> sender;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public HitBuffer(StatsClientProperties.HitBuffer settings, Consumer<List<EndpointHitDto>> sender) {
+        this.queue = new LinkedBlockingDeque<>(settings.getCapacity());
+        this.batchSize = settings.getBatchSize();
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(settings.getLingerMs());
+        this.overflowPolicy = settings.getOverflowPolicy();
+        this.spillFile = Paths.get(settings.getSpillDir(), SPILL_FILE_NAME);
+        this.drainFile = Paths.get(settings.getSpillDir(), DRAIN_FILE_NAME);
+        this.sender = sender;
+        this.flusher = new Thread(this::flushLoop, "stats-hit-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public void add(EndpointHitDto hitDto) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.putLast(hitDto);
+                } catch (InterruptedException exp) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Interrupted while waiting for free space in hit buffer, hit = {} is lost", hitDto);
+                }
+                break;
+            case SPILL_TO_DISK:
+                if (!queue.offerLast(hitDto)) {
+                    spill(List.of(hitDto));
+                }
+                break;
+            case DROP_OLDEST:
+            default:
+                while (!queue.offerLast(hitDto)) {
+                    EndpointHitDto dropped = queue.pollFirst();
+                    if (dropped != null) {
+                        log.warn("Hit buffer is full, the oldest hit = {} has been dropped", dropped);
+                    }
+                }
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(2 * lingerNanos) + TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+        }
+        List<EndpointHitDto> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            send(rest.subList(i, Math.min(i + batchSize, rest.size())));
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                List<EndpointHitDto> batch = nextBatch();
+                if (batch.isEmpty()) {
+                    drainSpill();
+                } else {
+                    send(batch);
+                }
+            } catch (InterruptedException exp) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException exp) {
+                log.error("Unexpected error in hit buffer flusher", exp);
+            }
+        }
+    }
+
+    private List<EndpointHitDto> nextBatch() throws InterruptedException {
+        List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+        EndpointHitDto first = queue.pollFirst(lingerNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            EndpointHitDto next;
+            try {
+                next = queue.pollFirst(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException exp) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void send(List<EndpointHitDto> batch) {
+        try {
+            sender.accept(batch);
+        } catch (RuntimeException exp) {
+            if (overflowPolicy == HitOverflowPolicy.SPILL_TO_DISK) {
+                log.warn("Unable to send {} hits to stats-service, hits have been spilled to disk: {}", batch.size(),
+                    exp.getMessage());
+                spill(batch);
+            } else {
+                log.warn("Unable to send {} hits to stats-service, hits are lost: {}", batch.size(), exp.getMessage());
+            }
+        }
+    }
+
+    private synchronized void spill(List<EndpointHitDto> hits) {
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (EndpointHitDto hit : hits) {
+                writer.write(objectMapper.writeValueAsString(hit));
+                writer.newLine();
+            }
+        } catch (IOException exp) {
+            log.error("Unable to spill {} hits to file = {}, hits are lost", hits.size(), spillFile, exp);
+        }
+    }
+
+    private void drainSpill() {
+        List<EndpointHitDto> spilled = new ArrayList<>();
+        synchronized (this) {
+            if (!Files.exists(spillFile)) {
+                return;
+            }
+            try {
+                Files.move(spillFile, drainFile, StandardCopyOption.REPLACE_EXISTING);
+                for (String line : Files.readAllLines(drainFile, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        spilled.add(objectMapper.readValue(line, EndpointHitDto.class));
+                    }
+                }
+                Files.delete(drainFile);
+            } catch (IOException exp) {
+                log.error("Unable to read spilled hits from file = {}", drainFile, exp);
+                return;
+            }
+        }
+        log.info("Resending {} hits spilled to disk", spilled.size());
+        for (int i = 0; i < spilled.size(); i += batchSize) {
+            send(spilled.subList(i, Math.min(i + batchSize, spilled.size())));
+        }
+    }
+}
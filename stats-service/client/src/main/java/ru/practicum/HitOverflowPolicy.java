@@ -0,0 +1,7 @@
+package ru.practicum;
+
+public enum HitOverflowPolicy {
+    DROP_OLDEST,
+    BLOCK,
+    SPILL_TO_DISK
+}
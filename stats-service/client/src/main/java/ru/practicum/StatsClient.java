@@ -1,85 +1,215 @@
 package ru.practicum;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.*;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import javax.annotation.PreDestroy;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @Validated
 @Setter// для возможности внедрить мок для тестирования
+@EnableConfigurationProperties(StatsClientProperties.class)
 public class StatsClient {
     private static final String API_PATH_HITS = "/hit";
+    private static final String API_PATH_HITS_BATCH = "/hits/batch";
     private static final String API_PREFIX_STATS = "/stats";
+    private static final String REQUESTS_METRIC = "stats.client.requests";
     private RestTemplate rest;
+    private final String serverUrl;
+    private final int maxUrisLength;
+    private final StatsHttpTransport transport;
+    private final HitBuffer hitBuffer;
+    private final Counter hitRequests;
+    private final Counter hitsBatchRequests;
+    private final Counter statsRequests;
 
-    public StatsClient(@Value("${S_HOST}") String serverHost, @Value("${S_PORT}") String serverPort) {
-        String serverUrl = "http://" + serverHost + ":" + serverPort;
+    public StatsClient(@Value("${S_HOST}") String serverHost, @Value("${S_PORT}") String serverPort,
+                       StatsClientProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.serverUrl = "http://" + serverHost + ":" + serverPort;
+        this.maxUrisLength = properties.getHttp().getMaxUrisLength();
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        this.transport = new StatsHttpTransport(properties.getHttp(), meterRegistry);
         RestTemplateBuilder builder = new RestTemplateBuilder();
         this.rest = builder
             .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-            .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+            .requestFactory(transport::requestFactory)
             .build();
+        this.hitBuffer = properties.getHitBuffer().isEnabled() ? new HitBuffer(properties.getHitBuffer(),
+            this::sendHits) : null;
+        this.hitRequests = registerRequestsCounter(meterRegistry, "hit");
+        this.hitsBatchRequests = registerRequestsCounter(meterRegistry, "hits_batch");
+        this.statsRequests = registerRequestsCounter(meterRegistry, "stats");
+    }
+
+    public void recordHit(@NotNull(message = "не должно быть null") @Valid EndpointHitDto hitDto) {
+        if (hitBuffer == null) {
+            saveHitAsync(hitDto).exceptionally(exp -> logHitsFailure(1, exp));
+        } else {
+            hitBuffer.add(hitDto);
+        }
+    }
+
+    public void recordHits(@NotEmpty(message = "не должно быть пустым") List<@Valid EndpointHitDto> hitDtoList) {
+        if (hitBuffer == null) {
+            saveHitsAsync(hitDtoList).exceptionally(exp -> logHitsFailure(hitDtoList.size(), exp));
+        } else {
+            hitDtoList.forEach(hitBuffer::add);
+        }
     }
 
     public ResponseEntity<Object> saveHit(@NotNull(message = "не должно быть null") @Valid EndpointHitDto hitDto) {
         HttpEntity<Object> requestEntity = new HttpEntity<>(hitDto);
         ResponseEntity<Object> statsServiceResponse;
+        hitRequests.increment();
         statsServiceResponse = rest.exchange(API_PATH_HITS, HttpMethod.POST, requestEntity, Object.class);
         return statsServiceResponse;
     }
 
+    public ResponseEntity<Object> saveHits(@NotEmpty(message = "не должно быть пустым") List<@Valid EndpointHitDto>
+                                               hitDtoList) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(hitDtoList);
+        hitsBatchRequests.increment();
+        return rest.exchange(API_PATH_HITS_BATCH, HttpMethod.POST, requestEntity, Object.class);
+    }
+
+    public CompletableFuture<Void> saveHitAsync(@NotNull(message = "не должно быть null") @Valid EndpointHitDto
+                                                    hitDto) {
+        return transport.supplyAsync(() -> saveHit(hitDto)).thenApply(response -> null);
+    }
+
+    public CompletableFuture<Void> saveHitsAsync(@NotEmpty(message = "не должно быть пустым")
+                                                 List<@Valid EndpointHitDto> hitDtoList) {
+        return transport.supplyAsync(() -> saveHits(hitDtoList)).thenApply(response -> null);
+    }
+
     public List<ViewStats> getStats(@NotNull(message = "не должно быть null") LocalDateTime startDate,
                                     @NotNull(message = "не должно быть null") LocalDateTime endDate, @Nullable String[] uri,
                                     @Nullable Boolean unique) {
         validateStartEndTime(startDate, endDate);
+        List<String> paths = getStatsPaths(startDate, endDate, uri, unique);
+        if (paths.size() == 1) {
+            return getStatsPart(paths.get(0));
+        }
+        return mergeStatsParts(paths.stream()
+            .map(this::getStatsPart)
+            .collect(Collectors.toList()));
+    }
 
-        String start = DateTimeParser.parseToString(startDate);
-        String end = DateTimeParser.parseToString(endDate);
-
-        Map<String, Object> parameters;
-        String path;
+    public CompletableFuture<List<ViewStats>> getStatsAsync(@NotNull(message = "не должно быть null")
+                                                            LocalDateTime startDate,
+                                                            @NotNull(message = "не должно быть null")
+                                                            LocalDateTime endDate, @Nullable String[] uri,
+                                                            @Nullable Boolean unique) {
+        validateStartEndTime(startDate, endDate);
+        List<CompletableFuture<List<ViewStats>>> parts = getStatsPaths(startDate, endDate, uri, unique).stream()
+            .map(this::getStatsPartAsync)
+            .collect(Collectors.toList());
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> mergeStatsParts(parts.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList())));
+    }
 
-        if (uri == null) {
-            if (unique == null) {
-                parameters = Map.of("start", start, "end", end);
-                path = "?start={start}&end={end}";
-            } else {
-                parameters = Map.of("start", start, "end", end, "unique", unique);
-                path = "?start={start}&end={end}&unique={unique}";
-            }
-        } else {
-            if (unique == null) {
-                parameters = Map.of("start", start, "end", end, "uri", uri);
-                path = "?start={start}&end={end}&uris={uri}";
-            } else {
-                parameters = Map.of("start", start, "end", end, "uri", uri, "unique", unique);
-                path = "?start={start}&end={end}&uris={uri}&unique={unique}";
+    private List<String> getStatsPaths(LocalDateTime startDate, LocalDateTime endDate, String[] uri,
+                                       Boolean unique) {
+        String prefix = API_PREFIX_STATS + "?start=" + encode(DateTimeParser.parseToString(startDate)) + "&end=" +
+            encode(DateTimeParser.parseToString(endDate));
+        String suffix = unique != null ? "&unique=" + unique : "";
+        List<String> paths = new ArrayList<>();
+        StringBuilder uris = new StringBuilder();
+        if (uri != null) {
+            for (String oneUri : uri) {
+                String param = "&uris=" + encode(oneUri);
+                if (uris.length() > 0 && uris.length() + param.length() > maxUrisLength) {
+                    paths.add(prefix + uris + suffix);
+                    uris.setLength(0);
+                }
+                uris.append(param);
             }
         }
-        HttpEntity<Object> requestEntity = new HttpEntity<>(null, null);
-        ResponseEntity<List<ViewStats>> statsServiceResponse;
-        statsServiceResponse = rest.exchange(API_PREFIX_STATS + path, HttpMethod.GET, requestEntity,
-            new ParameterizedTypeReference<>() {
-            }, parameters);
-        return statsServiceResponse.getBody();
+        if (uris.length() > 0 || paths.isEmpty()) {
+            paths.add(prefix + uris + suffix);
+        }
+        return paths;
+    }
+
+    private List<ViewStats> mergeStatsParts(List<List<ViewStats>> parts) {
+        return parts.stream()
+            .flatMap(List::stream)
+            .sorted(Comparator.comparing(ViewStats::getHits, Comparator.reverseOrder()))
+            .collect(Collectors.toList());
+    }
+
+    private List<ViewStats> getStatsPart(String path) {
+        statsRequests.increment();
+        return rest.exchange(URI.create(serverUrl + path), HttpMethod.GET, new HttpEntity<>(null, null),
+            new ParameterizedTypeReference<List<ViewStats>>() {
+            }).getBody();
+    }
+
+    private CompletableFuture<List<ViewStats>> getStatsPartAsync(String path) {
+        return transport.supplyAsync(() -> getStatsPart(path));
+    }
+
+    @PreDestroy
+    public void flushHits() {
+        if (hitBuffer != null) {
+            hitBuffer.close();
+        }
+        transport.close();
+    }
+
+    private void sendHits(List<EndpointHitDto> hits) {
+        hitsBatchRequests.increment();
+        rest.exchange(API_PATH_HITS_BATCH, HttpMethod.POST, new HttpEntity<>(hits), Object.class);
+    }
+
+    private Void logHitsFailure(int count, Throwable exp) {
+        Throwable cause = exp instanceof CompletionException ? exp.getCause() : exp;
+        log.warn("{} hits have not been sent to stats-service: {}", count, cause.getMessage());
+        return null;
+    }
+
+    private String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private Counter registerRequestsCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder(REQUESTS_METRIC)
+            .description("Outbound requests to stats-service")
+            .tag("operation", operation)
+            .register(meterRegistry);
     }
 
     private void validateStartEndTime(LocalDateTime start, LocalDateTime end) {
@@ -0,0 +1,40 @@
+package ru.practicum;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.client")
+public class StatsClientProperties {
+    private HitBuffer hitBuffer = new HitBuffer();
+    private Http http = new Http();
+
+    @Getter
+    @Setter
+    public static class HitBuffer {
+        private boolean enabled = false;
+        private int capacity = 10000;
+        private int batchSize = 100;
+        private long lingerMs = 200;
+        private HitOverflowPolicy overflowPolicy = HitOverflowPolicy.DROP_OLDEST;
+        private String spillDir = System.getProperty("java.io.tmpdir");
+    }
+
+    @Getter
+    @Setter
+    public static class Http {
+        private int maxTotal = 50;
+        private int maxPerRoute = 50;
+        private long connectTimeoutMs = 2000;
+        private long connectionRequestTimeoutMs = 1000;
+        private long readTimeoutMs = 5000;
+        private long keepAliveMs = 30000;
+        private long validateAfterInactivityMs = 2000;
+        private long idleEvictionMs = 60000;
+        private int maxUrisLength = 4000;
+        private int asyncQueueCapacity = 1000;
+        private boolean virtualThreads = false;
+    }
+}
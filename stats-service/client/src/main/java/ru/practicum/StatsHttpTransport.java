@@ -0,0 +1,121 @@
+package ru.practicum;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+@Slf4j
+public class StatsHttpTransport implements AutoCloseable {
+    private static final String POOL_METRIC = "stats.client.pool.connections";
+    private static final String ASYNC_METRIC = "stats.client.async.calls";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ExecutorService asyncExecutor;
+    private final Semaphore asyncPermits;
+    private final int maxAsyncCalls;
+
+    public StatsHttpTransport(StatsClientProperties.Http settings, MeterRegistry meterRegistry) {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(settings.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) settings.getValidateAfterInactivityMs());
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout((int) settings.getConnectTimeoutMs())
+            .setConnectionRequestTimeout((int) settings.getConnectionRequestTimeoutMs())
+            .setSocketTimeout((int) settings.getReadTimeoutMs())
+            .build();
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .setKeepAliveStrategy((response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response,
+                    context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, settings.getKeepAliveMs()) :
+                    settings.getKeepAliveMs();
+            })
+            .evictExpiredConnections()
+            .evictIdleConnections(settings.getIdleEvictionMs(), TimeUnit.MILLISECONDS)
+            .build();
+        Optional<ExecutorService> virtualExecutor = settings.isVirtualThreads() ?
+            VirtualThreads.newThreadPerTaskExecutor("stats-client-virtual-") : Optional.empty();
+        if (settings.isVirtualThreads() && virtualExecutor.isEmpty()) {
+            log.warn("Virtual threads are not supported by Java {}, stats client uses a platform thread pool",
+                Runtime.version().feature());
+        }
+        this.asyncExecutor = virtualExecutor.orElseGet(() -> newAsyncThreadPool(settings.getMaxTotal()));
+        this.maxAsyncCalls = settings.getMaxTotal() + settings.getAsyncQueueCapacity();
+        this.asyncPermits = new Semaphore(maxAsyncCalls);
+        registerPoolGauge(meterRegistry, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, "pending", PoolStats::getPending);
+        registerPoolGauge(meterRegistry, "max", PoolStats::getMax);
+        Gauge.builder(ASYNC_METRIC, asyncPermits, permits -> maxAsyncCalls - permits.availablePermits())
+            .description("Asynchronous stats-service calls running or waiting for a pooled connection")
+            .register(meterRegistry);
+        log.info("Stats client connection pool: max total = {}, max per route = {}, connect timeout = {} ms, " +
+                "read timeout = {} ms, async queue capacity = {}, virtual threads = {}", settings.getMaxTotal(),
+            settings.getMaxPerRoute(), settings.getConnectTimeoutMs(), settings.getReadTimeoutMs(),
+            settings.getAsyncQueueCapacity(), virtualExecutor.isPresent());
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        if (!asyncPermits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new ResourceAccessException("Stats client has " + maxAsyncCalls +
+                " asynchronous calls in progress"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(call, asyncExecutor)
+                .whenComplete((result, exp) -> asyncPermits.release());
+        } catch (RejectedExecutionException exp) {
+            asyncPermits.release();
+            return CompletableFuture.failedFuture(new ResourceAccessException("Stats client is closed"));
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException exp) {
+            log.warn("Unable to close stats client connection pool: {}", exp.getMessage());
+        }
+        asyncExecutor.shutdown();
+    }
+
+    private static ExecutorService newAsyncThreadPool(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "stats-client-async-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void registerPoolGauge(MeterRegistry meterRegistry, String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(POOL_METRIC, connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+            .description("Connections of the stats-service client pool")
+            .tag("state", state)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class DatabasePlatform {
+    private DatabasePlatform() {
+    }
+
+    public static boolean isPostgreSql(JdbcTemplate jdbcTemplate) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(database);
+    }
+}
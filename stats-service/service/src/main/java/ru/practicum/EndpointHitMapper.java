@@ -1,5 +1,8 @@
 package ru.practicum;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class EndpointHitMapper {
 
     public static EndpointHit toEndpointHit(EndpointHitDto endpointHitDto) {
@@ -10,4 +13,8 @@ public class EndpointHitMapper {
         endpointHit.setTimestamp(endpointHitDto.getTimestamp());
         return endpointHit;
     }
+
+    public static List<EndpointHit> toEndpointHitList(List<EndpointHitDto> endpointHitDtoList) {
+        return endpointHitDtoList.stream().map(EndpointHitMapper::toEndpointHit).collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package ru.practicum;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "stats.hits.partitioning.enabled", havingValue = "true")
+public class HitPartitionMaintainer {
+    private static final Pattern PARTITION_NAME = Pattern.compile("hits_y(\\d{4})m(\\d{2})");
+    private static final DateTimeFormatter BOUND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-01 00:00:00");
+    private static final String FIND_PARTITIONS = "SELECT c.relname FROM pg_inherits i " +
+        "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'hits'::regclass";
+    private static final String IS_PARTITIONED = "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table " +
+        "WHERE partrelid = 'hits'::regclass)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private Boolean partitioned;
+
+    @Autowired
+    public HitPartitionMaintainer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  @Value("${stats.hits.partitioning.months-ahead:3}") int monthsAhead,
+                                  @Value("${stats.hits.partitioning.retention-months:0}") int retentionMonths) {
+        this(jdbcTemplate, transactionTemplate, Clock.systemDefaultZone(), monthsAhead, retentionMonths);
+    }
+
+    public HitPartitionMaintainer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Clock clock,
+                                  int monthsAhead, int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @PostConstruct
+    public void createDefaultPartition() {
+        if (isPartitioned()) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS hits_default PARTITION OF hits DEFAULT");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats.hits.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        List<String> partitions = jdbcTemplate.queryForList(FIND_PARTITIONS, String.class);
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!partitions.contains(getPartitionName(month))) {
+                createPartition(month);
+            }
+        }
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String partition : partitions) {
+                Matcher matcher = PARTITION_NAME.matcher(partition);
+                if (matcher.matches() && YearMonth.of(Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2))).isBefore(oldestKept)) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                    log.info("Expired hits partition = {} has been dropped", partition);
+                }
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = getPartitionName(month);
+        String from = month.format(BOUND_FORMATTER);
+        String to = month.plusMonths(1).format(BOUND_FORMATTER);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE hits INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.execute("WITH moved AS (DELETE FROM hits_default WHERE timestamp >= '" + from + "' " +
+                "AND timestamp < '" + to + "' RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved");
+            jdbcTemplate.execute("ALTER TABLE hits ATTACH PARTITION " + partition +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        });
+        log.info("Hits partition = {} for [{}, {}) has been created", partition, from, to);
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+            if (!partitioned) {
+                log.warn("Table hits was created before partitioning and is not partitioned, its partitions are " +
+                    "not maintained. Recreate hits as a partitioned table to enable them");
+            }
+        }
+        return partitioned;
+    }
+
+    private String getPartitionName(YearMonth month) {
+        return String.format("hits_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
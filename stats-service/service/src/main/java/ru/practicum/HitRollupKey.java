@@ -0,0 +1,25 @@
+package ru.practicum;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class HitRollupKey {
+    public static final Comparator<HitRollupKey> LOCK_ORDER = Comparator.comparing(HitRollupKey::getGranularity)
+        .thenComparing(HitRollupKey::getBucketStart)
+        .thenComparing(HitRollupKey::getApp)
+        .thenComparing(HitRollupKey::getUri);
+
+    private final String app;
+    private final String uri;
+    private final RollupGranularity granularity;
+    private final LocalDateTime bucketStart;
+}
@@ -0,0 +1,25 @@
+package ru.practicum;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HitRollupRepository extends JpaRepository<HitRollup, Long>, HitRollupUpsertRepository {
+    @Query("SELECT new ru.practicum.ViewStats (r.app, r.uri, SUM(r.hits)) FROM HitRollup r " +
+        "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+        "GROUP BY r.app, r.uri")
+    List<ViewStats> sumHits(@Param("granularity") RollupGranularity granularity,
+                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new ru.practicum.ViewStats (r.app, r.uri, SUM(r.hits)) FROM HitRollup r " +
+        "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+        "AND r.uri IN :uris GROUP BY r.app, r.uri")
+    List<ViewStats> sumHitsByUris(@Param("granularity") RollupGranularity granularity,
+                                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                  @Param("uris") String[] uris);
+}
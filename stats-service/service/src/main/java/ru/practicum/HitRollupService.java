@@ -0,0 +1,99 @@
+package ru.practicum;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class HitRollupService {
+    private static final RollupGranularity[] GRANULARITIES = RollupGranularity.values();
+
+    private final HitRollupRepository hitRollupRepository;
+    private final StatsRepository statsRepository;
+
+    public HitRollupService(HitRollupRepository hitRollupRepository, StatsRepository statsRepository) {
+        this.hitRollupRepository = hitRollupRepository;
+        this.statsRepository = statsRepository;
+    }
+
+    public void addHits(List<EndpointHit> hits) {
+        Map<HitRollupKey, Long> deltas = new HashMap<>();
+        for (EndpointHit hit : hits) {
+            for (RollupGranularity granularity : GRANULARITIES) {
+                HitRollupKey key = new HitRollupKey(hit.getApp(), hit.getUri(), granularity,
+                    granularity.floor(hit.getTimestamp()));
+                deltas.merge(key, 1L, Long::sum);
+            }
+        }
+        hitRollupRepository.addHits(deltas);
+        log.info("Hit rollups have been updated, buckets = {}", deltas.size());
+    }
+
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, String[] uris) {
+        Map<String, Map<String, Long>> hitsByAppAndUri = new HashMap<>();
+        LocalDateTime from = RollupGranularity.MINUTE.ceil(start);
+        LocalDateTime to = RollupGranularity.MINUTE.floor(end);
+        if (!from.isBefore(to)) {
+            merge(hitsByAppAndUri, uris == null ? statsRepository.getStatsAll(start, end)
+                : statsRepository.getStatsByUris(start, end, uris));
+        } else {
+            if (start.isBefore(from)) {
+                merge(hitsByAppAndUri, uris == null ? statsRepository.getStatsAllEndExclusive(start, from)
+                    : statsRepository.getStatsByUrisEndExclusive(start, from, uris));
+            }
+            merge(hitsByAppAndUri, uris == null ? statsRepository.getStatsAll(to, end)
+                : statsRepository.getStatsByUris(to, end, uris));
+            addRollups(hitsByAppAndUri, from, to, 0, uris);
+        }
+        return hitsByAppAndUri.entrySet().stream()
+            .flatMap(app -> app.getValue().entrySet().stream()
+                .map(uri -> new ViewStats(app.getKey(), uri.getKey(), uri.getValue())))
+            .sorted(Comparator.comparing(ViewStats::getHits).reversed())
+            .collect(Collectors.toList());
+    }
+
+    private void addRollups(Map<String, Map<String, Long>> hitsByAppAndUri, LocalDateTime from, LocalDateTime to,
+                            int level, String[] uris) {
+        RollupGranularity granularity = GRANULARITIES[level];
+        if (level + 1 < GRANULARITIES.length) {
+            RollupGranularity coarser = GRANULARITIES[level + 1];
+            LocalDateTime coarserFrom = min(coarser.ceil(from), to);
+            LocalDateTime coarserTo = max(coarser.floor(to), coarserFrom);
+            if (coarserFrom.isBefore(coarserTo)) {
+                addRollups(hitsByAppAndUri, coarserFrom, coarserTo, level + 1, uris);
+                addBuckets(hitsByAppAndUri, granularity, from, coarserFrom, uris);
+                addBuckets(hitsByAppAndUri, granularity, coarserTo, to, uris);
+                return;
+            }
+        }
+        addBuckets(hitsByAppAndUri, granularity, from, to, uris);
+    }
+
+    private void addBuckets(Map<String, Map<String, Long>> hitsByAppAndUri, RollupGranularity granularity,
+                            LocalDateTime from, LocalDateTime to, String[] uris) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        merge(hitsByAppAndUri, uris == null ? hitRollupRepository.sumHits(granularity, from, to)
+            : hitRollupRepository.sumHitsByUris(granularity, from, to, uris));
+    }
+
+    private void merge(Map<String, Map<String, Long>> hitsByAppAndUri, List<ViewStats> stats) {
+        for (ViewStats viewStats : stats) {
+            hitsByAppAndUri.computeIfAbsent(viewStats.getApp(), app -> new HashMap<>())
+                .merge(viewStats.getUri(), viewStats.getHits(), Long::sum);
+        }
+    }
+
+    private LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum;
+
+import java.util.Map;
+
+public interface HitRollupUpsertRepository {
+    void addHits(Map<HitRollupKey, Long> deltas);
+}
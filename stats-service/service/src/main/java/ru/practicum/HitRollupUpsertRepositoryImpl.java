@@ -0,0 +1,50 @@
+package ru.practicum;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class HitRollupUpsertRepositoryImpl implements HitRollupUpsertRepository {
+    private static final String UPSERT_POSTGRESQL = "INSERT INTO hit_rollups (app, uri, granularity, bucket_start, " +
+        "hits) VALUES (?, ?, ?, ?, ?) ON CONFLICT (granularity, bucket_start, app, uri) " +
+        "DO UPDATE SET hits = hit_rollups.hits + EXCLUDED.hits";
+    private static final String UPSERT_STANDARD = "MERGE INTO hit_rollups r " +
+        "USING (VALUES (CAST(? AS VARCHAR(30)), CAST(? AS VARCHAR(30)), CAST(? AS VARCHAR(6)), CAST(? AS TIMESTAMP), " +
+        "CAST(? AS BIGINT))) AS d (app, uri, granularity, bucket_start, hits) " +
+        "ON r.granularity = d.granularity AND r.bucket_start = d.bucket_start AND r.app = d.app AND r.uri = d.uri " +
+        "WHEN MATCHED THEN UPDATE SET hits = r.hits + d.hits " +
+        "WHEN NOT MATCHED THEN INSERT (app, uri, granularity, bucket_start, hits) " +
+        "VALUES (d.app, d.uri, d.granularity, d.bucket_start, d.hits)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsert;
+
+    public HitRollupUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addHits(Map<HitRollupKey, Long> deltas) {
+        List<Map.Entry<HitRollupKey, Long>> rows = deltas.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey(HitRollupKey.LOCK_ORDER))
+            .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(getUpsert(), rows, rows.size(), (ps, row) -> {
+            HitRollupKey key = row.getKey();
+            ps.setString(1, key.getApp());
+            ps.setString(2, key.getUri());
+            ps.setString(3, key.getGranularity().name());
+            ps.setTimestamp(4, Timestamp.valueOf(key.getBucketStart()));
+            ps.setLong(5, row.getValue());
+        });
+    }
+
+    private String getUpsert() {
+        if (upsert == null) {
+            upsert = DatabasePlatform.isPostgreSql(jdbcTemplate) ? UPSERT_POSTGRESQL : UPSERT_STANDARD;
+        }
+        return upsert;
+    }
+}
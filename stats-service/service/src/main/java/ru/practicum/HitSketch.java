@@ -0,0 +1,32 @@
+package ru.practicum;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Entity
+@Table(name = "hit_sketches")
+public class HitSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, length = 30)
+    private String app;
+    @Column(nullable = false, length = 30)
+    private String uri;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 6)
+    private RollupGranularity granularity;
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    @ToString.Exclude
+    @Column(nullable = false)
+    private byte[] registers;
+}
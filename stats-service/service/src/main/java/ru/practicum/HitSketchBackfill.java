@@ -0,0 +1,64 @@
+package ru.practicum;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class HitSketchBackfill implements ApplicationRunner {
+    private final StatsRepository statsRepository;
+    private final HitSketchBackfillRepository hitSketchBackfillRepository;
+    private final HitSketchService hitSketchService;
+    private final boolean enabled;
+    private final int pageSize;
+
+    public HitSketchBackfill(StatsRepository statsRepository, HitSketchBackfillRepository hitSketchBackfillRepository,
+                             HitSketchService hitSketchService,
+                             @Value("${stats.hll.backfill-on-startup:true}") boolean enabled,
+                             @Value("${stats.hll.backfill-page-size:10000}") int pageSize) {
+        this.statsRepository = statsRepository;
+        this.hitSketchBackfillRepository = hitSketchBackfillRepository;
+        this.hitSketchService = hitSketchService;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public void backfill() {
+        HitSketchBackfillProgress progress = hitSketchBackfillRepository.findById(HitSketchBackfillProgress.ID)
+            .orElseGet(() -> hitSketchBackfillRepository.save(new HitSketchBackfillProgress(
+                HitSketchBackfillProgress.ID, 0L, statsRepository.getMaxId(), false)));
+        if (progress.getCompleted()) {
+            return;
+        }
+        if (progress.getLastHitId() > 0) {
+            log.info("Unique visitors sketches backfill is resumed after hit id = {}", progress.getLastHitId());
+        }
+        List<EndpointHit> hits = statsRepository.findHitsAfter(progress.getLastHitId(), progress.getTargetHitId(),
+            PageRequest.of(0, pageSize));
+        while (!hits.isEmpty()) {
+            hitSketchService.addHits(hits);
+            progress.setLastHitId(hits.get(hits.size() - 1).getId());
+            hitSketchBackfillRepository.save(progress);
+            log.info("Unique visitors sketches backfill: hits up to id = {} of {} processed", progress.getLastHitId(),
+                progress.getTargetHitId());
+            hits = statsRepository.findHitsAfter(progress.getLastHitId(), progress.getTargetHitId(),
+                PageRequest.of(0, pageSize));
+        }
+        progress.setCompleted(true);
+        hitSketchBackfillRepository.save(progress);
+        log.info("Unique visitors sketches backfill is completed");
+    }
+}
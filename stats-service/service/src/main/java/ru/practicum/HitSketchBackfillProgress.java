@@ -0,0 +1,29 @@
+package ru.practicum;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Entity
+@Table(name = "hit_sketch_backfill")
+public class HitSketchBackfillProgress {
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+    @Column(name = "last_hit_id", nullable = false)
+    private Long lastHitId;
+    @Column(name = "target_hit_id", nullable = false)
+    private Long targetHitId;
+    @Column(nullable = false)
+    private Boolean completed;
+}
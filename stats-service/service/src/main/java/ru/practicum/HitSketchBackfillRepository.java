@@ -0,0 +1,8 @@
+package ru.practicum;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HitSketchBackfillRepository extends JpaRepository<HitSketchBackfillProgress, Long> {
+}
@@ -0,0 +1,23 @@
+package ru.practicum;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HitSketchRepository extends JpaRepository<HitSketch, Long>, HitSketchUpsertRepository {
+    @Query("SELECT s FROM HitSketch s " +
+        "WHERE s.granularity = :granularity AND s.bucketStart >= :from AND s.bucketStart < :to")
+    List<HitSketch> findSketches(@Param("granularity") RollupGranularity granularity,
+                                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT s FROM HitSketch s " +
+        "WHERE s.granularity = :granularity AND s.bucketStart >= :from AND s.bucketStart < :to AND s.uri IN :uris")
+    List<HitSketch> findSketchesByUris(@Param("granularity") RollupGranularity granularity,
+                                       @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                       @Param("uris") String[] uris);
+}
@@ -0,0 +1,102 @@
+package ru.practicum;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class HitSketchService {
+    private static final RollupGranularity[] GRANULARITIES = {RollupGranularity.HOUR, RollupGranularity.DAY};
+
+    private final HitSketchRepository hitSketchRepository;
+    private final StatsRepository statsRepository;
+    private final int precision;
+
+    public HitSketchService(HitSketchRepository hitSketchRepository, StatsRepository statsRepository,
+                            @Value("${stats.hll.precision:12}") int precision) {
+        this.hitSketchRepository = hitSketchRepository;
+        this.statsRepository = statsRepository;
+        this.precision = precision;
+        log.info("Unique visitors sketches precision = {}, standard error = {}", precision,
+            HyperLogLog.standardError(precision));
+    }
+
+    @Transactional
+    public void addHits(List<EndpointHit> hits) {
+        Map<HitRollupKey, HyperLogLog> sketches = new HashMap<>();
+        for (EndpointHit hit : hits) {
+            for (RollupGranularity granularity : GRANULARITIES) {
+                HitRollupKey key = new HitRollupKey(hit.getApp(), hit.getUri(), granularity,
+                    granularity.floor(hit.getTimestamp()));
+                sketches.computeIfAbsent(key, k -> new HyperLogLog(precision)).offer(hit.getIp());
+            }
+        }
+        hitSketchRepository.mergeSketches(sketches);
+        log.info("Unique visitors sketches have been updated, buckets = {}", sketches.size());
+    }
+
+    public List<ViewStats> getUniqueStats(LocalDateTime start, LocalDateTime end, String[] uris) {
+        Map<String, Map<String, HyperLogLog>> sketchesByAppAndUri = new HashMap<>();
+        LocalDateTime from = RollupGranularity.HOUR.ceil(start);
+        LocalDateTime to = RollupGranularity.HOUR.floor(end);
+        if (!from.isBefore(to)) {
+            offer(sketchesByAppAndUri, uris == null ? statsRepository.getVisitorsAll(start, end)
+                : statsRepository.getVisitorsByUris(start, end, uris));
+        } else {
+            if (start.isBefore(from)) {
+                offer(sketchesByAppAndUri, uris == null ? statsRepository.getVisitorsAllEndExclusive(start, from)
+                    : statsRepository.getVisitorsByUrisEndExclusive(start, from, uris));
+            }
+            offer(sketchesByAppAndUri, uris == null ? statsRepository.getVisitorsAll(to, end)
+                : statsRepository.getVisitorsByUris(to, end, uris));
+            LocalDateTime dayFrom = min(RollupGranularity.DAY.ceil(from), to);
+            LocalDateTime dayTo = max(RollupGranularity.DAY.floor(to), dayFrom);
+            addSketches(sketchesByAppAndUri, RollupGranularity.DAY, dayFrom, dayTo, uris);
+            addSketches(sketchesByAppAndUri, RollupGranularity.HOUR, from, dayFrom, uris);
+            addSketches(sketchesByAppAndUri, RollupGranularity.HOUR, dayTo, to, uris);
+        }
+        return sketchesByAppAndUri.entrySet().stream()
+            .flatMap(app -> app.getValue().entrySet().stream()
+                .map(uri -> new ViewStats(app.getKey(), uri.getKey(), uri.getValue().estimate())))
+            .sorted(Comparator.comparing(ViewStats::getHits).reversed())
+            .collect(Collectors.toList());
+    }
+
+    private void addSketches(Map<String, Map<String, HyperLogLog>> sketchesByAppAndUri,
+                             RollupGranularity granularity, LocalDateTime from, LocalDateTime to, String[] uris) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        List<HitSketch> sketches = uris == null ? hitSketchRepository.findSketches(granularity, from, to)
+            : hitSketchRepository.findSketchesByUris(granularity, from, to, uris);
+        for (HitSketch sketch : sketches) {
+            if (sketch.getRegisters().length == 0) {
+                continue;
+            }
+            sketchesByAppAndUri.computeIfAbsent(sketch.getApp(), app -> new HashMap<>())
+                .merge(sketch.getUri(), HyperLogLog.fromBytes(sketch.getRegisters()), HyperLogLog::merge);
+        }
+    }
+
+    private void offer(Map<String, Map<String, HyperLogLog>> sketchesByAppAndUri, List<UniqueVisitor> visitors) {
+        for (UniqueVisitor visitor : visitors) {
+            sketchesByAppAndUri.computeIfAbsent(visitor.getApp(), app -> new HashMap<>())
+                .computeIfAbsent(visitor.getUri(), uri -> new HyperLogLog(precision))
+                .offer(visitor.getIp());
+        }
+    }
+
+    private LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum;
+
+import java.util.Map;
+
+public interface HitSketchUpsertRepository {
+    void mergeSketches(Map<HitRollupKey, HyperLogLog> sketches);
+}
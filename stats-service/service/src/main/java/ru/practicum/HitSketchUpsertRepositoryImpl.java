@@ -0,0 +1,64 @@
+package ru.practicum;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class HitSketchUpsertRepositoryImpl implements HitSketchUpsertRepository {
+    private static final String INSERT_IF_ABSENT_POSTGRESQL = "INSERT INTO hit_sketches (app, uri, granularity, " +
+        "bucket_start, registers) VALUES (?, ?, ?, ?, ?) ON CONFLICT (granularity, bucket_start, app, uri) DO NOTHING";
+    private static final String INSERT_IF_ABSENT_STANDARD = "MERGE INTO hit_sketches s " +
+        "USING (VALUES (CAST(? AS VARCHAR(30)), CAST(? AS VARCHAR(30)), CAST(? AS VARCHAR(6)), CAST(? AS TIMESTAMP), " +
+        "CAST(? AS VARBINARY))) AS d (app, uri, granularity, bucket_start, registers) " +
+        "ON s.granularity = d.granularity AND s.bucket_start = d.bucket_start AND s.app = d.app AND s.uri = d.uri " +
+        "WHEN NOT MATCHED THEN INSERT (app, uri, granularity, bucket_start, registers) " +
+        "VALUES (d.app, d.uri, d.granularity, d.bucket_start, d.registers)";
+    private static final String SELECT_FOR_UPDATE = "SELECT registers FROM hit_sketches " +
+        "WHERE granularity = ? AND bucket_start = ? AND app = ? AND uri = ? FOR UPDATE";
+    private static final String UPDATE = "UPDATE hit_sketches SET registers = ? " +
+        "WHERE granularity = ? AND bucket_start = ? AND app = ? AND uri = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String insertIfAbsent;
+
+    public HitSketchUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void mergeSketches(Map<HitRollupKey, HyperLogLog> sketches) {
+        List<HitRollupKey> keys = sketches.keySet().stream()
+            .sorted(HitRollupKey.LOCK_ORDER)
+            .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(getInsertIfAbsent(), keys, keys.size(), (ps, key) -> {
+            ps.setString(1, key.getApp());
+            ps.setString(2, key.getUri());
+            ps.setString(3, key.getGranularity().name());
+            ps.setTimestamp(4, Timestamp.valueOf(key.getBucketStart()));
+            ps.setBytes(5, new byte[0]);
+        });
+        List<Object[]> updates = new ArrayList<>(keys.size());
+        for (HitRollupKey key : keys) {
+            Timestamp bucketStart = Timestamp.valueOf(key.getBucketStart());
+            byte[] stored = jdbcTemplate.queryForObject(SELECT_FOR_UPDATE, byte[].class,
+                key.getGranularity().name(), bucketStart, key.getApp(), key.getUri());
+            HyperLogLog merged = stored == null || stored.length == 0 ? sketches.get(key)
+                : HyperLogLog.fromBytes(stored).merge(sketches.get(key));
+            updates.add(new Object[]{merged.toBytes(), key.getGranularity().name(), bucketStart, key.getApp(),
+                key.getUri()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE, updates);
+    }
+
+    private String getInsertIfAbsent() {
+        if (insertIfAbsent == null) {
+            insertIfAbsent = DatabasePlatform.isPostgreSql(jdbcTemplate) ? INSERT_IF_ABSENT_POSTGRESQL
+                : INSERT_IF_ABSENT_STANDARD;
+        }
+        return insertIfAbsent;
+    }
+}
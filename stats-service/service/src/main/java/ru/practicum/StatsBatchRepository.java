@@ -0,0 +1,7 @@
+package ru.practicum;
+
+import java.util.List;
+
+public interface StatsBatchRepository {
+    void insertAll(List<EndpointHit> hits);
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,11 +28,23 @@ public class StatsController {
         statsService.saveHit(hitDto);
     }
 
+    @PostMapping("/hits/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public void hits(@RequestBody @NotEmpty List<@Valid EndpointHitDto> hitDtoList) {
+        log.info("POST: /hits/batch, size = {}", hitDtoList.size());
+        statsService.saveHits(hitDtoList);
+    }
+
     @GetMapping("/stats")
     public List<ViewStats> getStats(@RequestParam @NotBlank String start, @RequestParam @NotBlank String end,
                                     @RequestParam(required = false) String[] uris,
-                                    @RequestParam(required = false, defaultValue = "false") Boolean unique) {
-        log.info("GET: /stats, start = {}, end = {}, uris = {}, unique = {}", start, end, Arrays.toString(uris), unique);
+                                    @RequestParam(required = false, defaultValue = "false") Boolean unique,
+                                    @RequestParam(required = false, defaultValue = "false") Boolean approx) {
+        log.info("GET: /stats, start = {}, end = {}, uris = {}, unique = {}, approx = {}", start, end,
+            Arrays.toString(uris), unique, approx);
+        if (unique && approx) {
+            return statsService.getApproxUniqueStats(start, end, uris);
+        }
         return statsService.getStats(start, end, uris, unique);
     }
 }
\ No newline at end of file
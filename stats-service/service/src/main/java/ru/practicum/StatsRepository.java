@@ -1,5 +1,6 @@
 package ru.practicum;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,7 +10,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface StatsRepository extends JpaRepository<EndpointHit, Long> {
+public interface StatsRepository extends JpaRepository<EndpointHit, Long>, StatsBatchRepository {
+    @Query("SELECT h FROM EndpointHit h WHERE h.id > :afterId AND h.id <= :upToId ORDER BY h.id")
+    List<EndpointHit> findHitsAfter(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(h.id), 0) FROM EndpointHit h")
+    Long getMaxId();
+
     @Query("SELECT new ru.practicum.ViewStats (h.app, h.uri, COUNT(DISTINCT h.ip)) FROM EndpointHit h " +
         "WHERE h.timestamp BETWEEN :start AND :end AND h.uri IN :uris GROUP BY h.app, h.uri ORDER BY COUNT(DISTINCT h.ip) DESC")
     List<ViewStats> getStatsDistinctByUris(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
@@ -28,4 +35,32 @@ public interface StatsRepository extends JpaRepository<EndpointHit, Long> {
     List<ViewStats> getStatsByUris(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
                                    @Param("uris") String[] uris);
 
+    @Query("SELECT new ru.practicum.ViewStats (h.app, h.uri, COUNT(h)) FROM EndpointHit h " +
+        "WHERE h.timestamp >= :start AND h.timestamp < :end GROUP BY h.app, h.uri")
+    List<ViewStats> getStatsAllEndExclusive(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.ViewStats (h.app, h.uri, COUNT(h)) FROM EndpointHit h " +
+        "WHERE h.timestamp >= :start AND h.timestamp < :end AND h.uri IN :uris GROUP BY h.app, h.uri")
+    List<ViewStats> getStatsByUrisEndExclusive(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                               @Param("uris") String[] uris);
+
+    @Query("SELECT DISTINCT new ru.practicum.UniqueVisitor (h.app, h.uri, h.ip) FROM EndpointHit h " +
+        "WHERE h.timestamp BETWEEN :start AND :end")
+    List<UniqueVisitor> getVisitorsAll(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT DISTINCT new ru.practicum.UniqueVisitor (h.app, h.uri, h.ip) FROM EndpointHit h " +
+        "WHERE h.timestamp BETWEEN :start AND :end AND h.uri IN :uris")
+    List<UniqueVisitor> getVisitorsByUris(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                          @Param("uris") String[] uris);
+
+    @Query("SELECT DISTINCT new ru.practicum.UniqueVisitor (h.app, h.uri, h.ip) FROM EndpointHit h " +
+        "WHERE h.timestamp >= :start AND h.timestamp < :end")
+    List<UniqueVisitor> getVisitorsAllEndExclusive(@Param("start") LocalDateTime start,
+                                                   @Param("end") LocalDateTime end);
+
+    @Query("SELECT DISTINCT new ru.practicum.UniqueVisitor (h.app, h.uri, h.ip) FROM EndpointHit h " +
+        "WHERE h.timestamp >= :start AND h.timestamp < :end AND h.uri IN :uris")
+    List<UniqueVisitor> getVisitorsByUrisEndExclusive(@Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end,
+                                                      @Param("uris") String[] uris);
 }
@@ -2,6 +2,7 @@ package ru.practicum;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,18 +11,35 @@ import java.util.List;
 @Slf4j
 public class StatsService {
     public final StatsRepository statsRepository;
+    private final HitRollupService hitRollupService;
+    private final HitSketchService hitSketchService;
 
 
-    public StatsService(StatsRepository statsRepository) {
+    public StatsService(StatsRepository statsRepository, HitRollupService hitRollupService,
+                        HitSketchService hitSketchService) {
         this.statsRepository = statsRepository;
+        this.hitRollupService = hitRollupService;
+        this.hitSketchService = hitSketchService;
     }
 
+    @Transactional
     public void saveHit(EndpointHitDto hitDto) {
         EndpointHit hit = EndpointHitMapper.toEndpointHit(hitDto);
         EndpointHit savedHit = statsRepository.save(hit);
+        hitRollupService.addHits(List.of(savedHit));
+        hitSketchService.addHits(List.of(savedHit));
         log.info("Hit value = {} has been saved, id = {}", hit, savedHit.getId());
     }
 
+    @Transactional
+    public void saveHits(List<EndpointHitDto> hitDtoList) {
+        List<EndpointHit> hits = EndpointHitMapper.toEndpointHitList(hitDtoList);
+        statsRepository.insertAll(hits);
+        hitRollupService.addHits(hits);
+        hitSketchService.addHits(hits);
+        log.info("Hits batch of size = {} has been saved", hits.size());
+    }
+
     public List<ViewStats> getStats(String start, String end, String[] uri, Boolean unique) {
 
         LocalDateTime startDate = DateTimeParser.parseToDate(start);
@@ -34,18 +52,27 @@ public class StatsService {
             if (unique) {
                 stats = statsRepository.getStatsAllDistinct(startDate, endDate);
             } else {
-                stats = statsRepository.getStatsAll(startDate, endDate);
+                stats = hitRollupService.getStats(startDate, endDate, null);
             }
         } else {
             if (unique) {
                 stats = statsRepository.getStatsDistinctByUris(startDate, endDate, uri);
             } else {
-                stats = statsRepository.getStatsByUris(startDate, endDate, uri);
+                stats = hitRollupService.getStats(startDate, endDate, uri);
             }
         }
         return stats;
     }
 
+    public List<ViewStats> getApproxUniqueStats(String start, String end, String[] uri) {
+        LocalDateTime startDate = DateTimeParser.parseToDate(start);
+        LocalDateTime endDate = DateTimeParser.parseToDate(end);
+
+        validateStartEndTime(startDate, endDate);
+
+        return hitSketchService.getUniqueStats(startDate, endDate, uri);
+    }
+
     private void validateStartEndTime(LocalDateTime start, LocalDateTime end) {
         if (start.isAfter(end)) {
             log.error("Start date must be before End date");
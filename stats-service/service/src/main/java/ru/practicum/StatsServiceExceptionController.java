@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.validation.ConstraintViolationException;
 import java.util.Map;
 
 @RestControllerAdvice(assignableTypes = {StatsController.class})
@@ -15,4 +16,10 @@ public class StatsServiceExceptionController {
     public Map<String, String> handleInvalidDateTimeExp(final InvalidStartEndTimeExceptionStats exp) {
         return Map.of("error", exp.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleConstraintViolationExp(final ConstraintViolationException exp) {
+        return Map.of("error", exp.getMessage());
+    }
 }
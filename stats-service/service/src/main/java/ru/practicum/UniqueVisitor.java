@@ -0,0 +1,15 @@
+package ru.practicum;
+
+import lombok.*;
+
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@NoArgsConstructor
+public class UniqueVisitor {
+    private String app;
+    private String uri;
+    private String ip;
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS hits
+(
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app       VARCHAR(30)                             NOT NULL,
+    uri       VARCHAR(30)                             NOT NULL,
+    ip        VARCHAR(15)                             NOT NULL,
+    timestamp TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    CONSTRAINT pk_hits PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE INDEX IF NOT EXISTS idx_hits_uri_timestamp ON hits (uri, timestamp) INCLUDE (app, ip);
+CREATE INDEX IF NOT EXISTS idx_hits_timestamp ON hits (timestamp) INCLUDE (app, uri, ip);
@@ -8,3 +8,53 @@ CREATE TABLE IF NOT EXISTS hits
     CONSTRAINT pk_hits PRIMARY KEY (id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_hits_uri_timestamp ON hits (uri, timestamp);
+CREATE INDEX IF NOT EXISTS idx_hits_timestamp ON hits (timestamp);
+
+CREATE TABLE IF NOT EXISTS hit_rollups
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app          VARCHAR(30)                             NOT NULL,
+    uri          VARCHAR(30)                             NOT NULL,
+    granularity  VARCHAR(6)                              NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    hits         BIGINT                                  NOT NULL,
+    CONSTRAINT pk_hit_rollups PRIMARY KEY (id),
+    CONSTRAINT uq_hit_rollups UNIQUE (granularity, bucket_start, app, uri)
+);
+
+INSERT INTO hit_rollups (app, uri, granularity, bucket_start, hits)
+SELECT app, uri, 'MINUTE', DATE_TRUNC('minute', timestamp), COUNT(*) FROM hits
+WHERE NOT EXISTS (SELECT 1 FROM hit_rollups WHERE granularity = 'MINUTE')
+GROUP BY app, uri, DATE_TRUNC('minute', timestamp);
+
+INSERT INTO hit_rollups (app, uri, granularity, bucket_start, hits)
+SELECT app, uri, 'HOUR', DATE_TRUNC('hour', timestamp), COUNT(*) FROM hits
+WHERE NOT EXISTS (SELECT 1 FROM hit_rollups WHERE granularity = 'HOUR')
+GROUP BY app, uri, DATE_TRUNC('hour', timestamp);
+
+INSERT INTO hit_rollups (app, uri, granularity, bucket_start, hits)
+SELECT app, uri, 'DAY', DATE_TRUNC('day', timestamp), COUNT(*) FROM hits
+WHERE NOT EXISTS (SELECT 1 FROM hit_rollups WHERE granularity = 'DAY')
+GROUP BY app, uri, DATE_TRUNC('day', timestamp);
+
+CREATE TABLE IF NOT EXISTS hit_sketches
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app          VARCHAR(30)                             NOT NULL,
+    uri          VARCHAR(30)                             NOT NULL,
+    granularity  VARCHAR(6)                              NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    registers    BYTEA                                   NOT NULL,
+    CONSTRAINT pk_hit_sketches PRIMARY KEY (id),
+    CONSTRAINT uq_hit_sketches UNIQUE (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS hit_sketch_backfill
+(
+    id            BIGINT  NOT NULL,
+    last_hit_id   BIGINT  NOT NULL,
+    target_hit_id BIGINT  NOT NULL,
+    completed     BOOLEAN NOT NULL,
+    CONSTRAINT pk_hit_sketch_backfill PRIMARY KEY (id)
+);
@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.HitPartitionMaintainer;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HitPartitionMaintainerTest {
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    HitPartitionMaintainer maintainer;
+
+    @BeforeEach
+    public void createEntitiesAndEnvironment() {
+        Clock clock = Clock.fixed(LocalDateTime.of(2023, 5, 15, 3, 0, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        this.maintainer = new HitPartitionMaintainer(jdbcTemplate, new TransactionTemplate(transactionManager), clock,
+            2, 12);
+    }
+
+    @Test
+    public void shouldCreateFuturePartitionsAndDropExpiredCase() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("hits_default",
+            "hits_y2022m04", "hits_y2022m05", "hits_y2023m05"));
+        maintainer.maintainPartitions();
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE hits_y2023m05 "));
+        verify(jdbcTemplate, times(1)).execute(startsWith("CREATE TABLE hits_y2023m06 "));
+        verify(jdbcTemplate, times(1)).execute(startsWith("CREATE TABLE hits_y2023m07 "));
+        verify(jdbcTemplate, times(1)).execute("ALTER TABLE hits ATTACH PARTITION hits_y2023m06 " +
+            "FOR VALUES FROM ('2023-06-01 00:00:00') TO ('2023-07-01 00:00:00')");
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE hits_y2023m08 "));
+        verify(jdbcTemplate, times(1)).execute("DROP TABLE IF EXISTS hits_y2022m04");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS hits_y2022m05");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS hits_default");
+    }
+
+    @Test
+    public void shouldNotDropPartitionsIfRetentionIsDisabledCase() {
+        maintainer = new HitPartitionMaintainer(jdbcTemplate, new TransactionTemplate(transactionManager),
+            Clock.systemDefaultZone(), 0, 0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("hits_y2000m01"));
+        maintainer.maintainPartitions();
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+        verify(jdbcTemplate, times(1)).execute(startsWith("CREATE TABLE"));
+    }
+
+    @Test
+    public void shouldCreateDefaultPartitionIfHitsIsPartitionedCase() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(true);
+        maintainer.createDefaultPartition();
+        verify(jdbcTemplate, times(1)).execute("CREATE TABLE IF NOT EXISTS hits_default PARTITION OF hits DEFAULT");
+    }
+
+    @Test
+    public void shouldSkipMaintenanceIfHitsIsNotPartitionedCase() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(false);
+        maintainer.createDefaultPartition();
+        maintainer.maintainPartitions();
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Boolean.class));
+    }
+}
@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@ContextConfiguration(classes = {ExploreWithMeStatsService.class})
+@Import(HitRollupService.class)
+@DataJpaTest
+@AutoConfigureTestDatabase
+public class HitRollupServiceTest {
+    @Autowired
+    private StatsRepository statsRepository;
+    @Autowired
+    private HitRollupRepository hitRollupRepository;
+    @Autowired
+    private HitRollupService hitRollupService;
+    private LocalDateTime origin;
+
+    @BeforeEach
+    public void createEntitiesAndEnvironment() {
+        this.origin = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+        Random random = new Random(42);
+        List<EndpointHit> hits = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            hits.add(new EndpointHit(null, "main-service", "/events/" + random.nextInt(5),
+                "10.0.0." + random.nextInt(20), origin.plusSeconds(random.nextInt(3 * 24 * 60 * 60))));
+        }
+        statsRepository.insertAll(hits);
+        hitRollupService.addHits(hits.subList(0, 300));
+        hitRollupService.addHits(hits.subList(300, hits.size()));
+    }
+
+    @Test
+    public void shouldAddHitsToEveryGranularityCase() {
+        Map<RollupGranularity, Long> hitsByGranularity = hitRollupRepository.findAll().stream()
+            .collect(Collectors.groupingBy(HitRollup::getGranularity, Collectors.summingLong(HitRollup::getHits)));
+        Assertions.assertEquals(Map.of(RollupGranularity.MINUTE, 600L, RollupGranularity.HOUR, 600L,
+            RollupGranularity.DAY, 600L), hitsByGranularity);
+    }
+
+    @Test
+    public void shouldGetStatsEqualToRawHitsCase() {
+        String[] uris = {"/events/1", "/events/3"};
+        List<LocalDateTime[]> ranges = List.of(
+            new LocalDateTime[]{origin, origin.plusDays(3)},
+            new LocalDateTime[]{origin.plusSeconds(17), origin.plusSeconds(40)},
+            new LocalDateTime[]{origin.plusMinutes(3).plusSeconds(5), origin.plusHours(5).plusSeconds(7)},
+            new LocalDateTime[]{origin.plusHours(7).plusSeconds(59), origin.plusDays(2).plusHours(3).plusMinutes(1)},
+            new LocalDateTime[]{origin.minusDays(10), origin.plusDays(10)});
+        for (LocalDateTime[] range : ranges) {
+            Assertions.assertEquals(toMap(statsRepository.getStatsAll(range[0], range[1])),
+                toMap(hitRollupService.getStats(range[0], range[1], null)));
+            Assertions.assertEquals(toMap(statsRepository.getStatsByUris(range[0], range[1], uris)),
+                toMap(hitRollupService.getStats(range[0], range[1], uris)));
+        }
+    }
+
+    @Test
+    public void shouldGetStatsSortedByHitsDescCase() {
+        List<ViewStats> stats = hitRollupService.getStats(origin, origin.plusDays(3), null);
+        for (int i = 1; i < stats.size(); i++) {
+            Assertions.assertTrue(stats.get(i - 1).getHits() >= stats.get(i).getHits());
+        }
+    }
+
+    private Map<String, Long> toMap(List<ViewStats> stats) {
+        return stats.stream().collect(Collectors.toMap(viewStats -> viewStats.getApp() + viewStats.getUri(),
+            ViewStats::getHits));
+    }
+}
@@ -0,0 +1,95 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@ContextConfiguration(classes = {ExploreWithMeStatsService.class})
+@Import({HitSketchService.class, HitSketchBackfill.class})
+@DataJpaTest
+@AutoConfigureTestDatabase
+@TestPropertySource(properties = {"stats.hll.backfill-on-startup=false", "stats.hll.backfill-page-size=100"})
+public class HitSketchBackfillTest {
+    @Autowired
+    private StatsRepository statsRepository;
+    @Autowired
+    private HitSketchRepository hitSketchRepository;
+    @Autowired
+    private HitSketchBackfillRepository hitSketchBackfillRepository;
+    @Autowired
+    private HitSketchService hitSketchService;
+    @Autowired
+    private HitSketchBackfill hitSketchBackfill;
+    private List<EndpointHit> hits;
+    private LocalDateTime day1;
+    private LocalDateTime day2;
+
+    @BeforeEach
+    public void createEntitiesAndEnvironment() {
+        this.day1 = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+        this.day2 = day1.plusDays(1);
+        List<EndpointHit> newHits = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime timestamp = (i < 250 ? day1 : day2).plusMinutes(i);
+            newHits.add(new EndpointHit(null, "main-service", "/events/1", "10.0.0." + i % 200, timestamp));
+        }
+        statsRepository.insertAll(newHits);
+        this.hits = statsRepository.findAll().stream()
+            .sorted((first, second) -> Long.compare(first.getId(), second.getId()))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void shouldBackfillAllHitsPageByPageCase() {
+        hitSketchBackfill.backfill();
+
+        HitSketchBackfillProgress progress = hitSketchBackfillRepository.findById(HitSketchBackfillProgress.ID)
+            .orElseThrow();
+        Assertions.assertTrue(progress.getCompleted());
+        Assertions.assertEquals(hits.get(hits.size() - 1).getId(), progress.getLastHitId());
+        Assertions.assertEquals(Set.of(day1, day2), getDaySketches());
+    }
+
+    @Test
+    public void shouldResumeInterruptedBackfillCase() {
+        List<EndpointHit> processed = hits.subList(0, 250);
+        hitSketchService.addHits(processed);
+        hitSketchBackfillRepository.save(new HitSketchBackfillProgress(HitSketchBackfillProgress.ID,
+            processed.get(processed.size() - 1).getId(), hits.get(hits.size() - 1).getId(), false));
+        Assertions.assertEquals(Set.of(day1), getDaySketches());
+
+        hitSketchBackfill.backfill();
+
+        Assertions.assertEquals(Set.of(day1, day2), getDaySketches());
+        Assertions.assertTrue(hitSketchBackfillRepository.findById(HitSketchBackfillProgress.ID).orElseThrow()
+            .getCompleted());
+    }
+
+    @Test
+    public void shouldSkipCompletedBackfillCase() {
+        hitSketchBackfillRepository.save(new HitSketchBackfillProgress(HitSketchBackfillProgress.ID, 0L,
+            hits.get(hits.size() - 1).getId(), true));
+
+        hitSketchBackfill.backfill();
+
+        Assertions.assertTrue(getDaySketches().isEmpty());
+    }
+
+    private Set<LocalDateTime> getDaySketches() {
+        return hitSketchRepository.findAll().stream()
+            .filter(sketch -> sketch.getGranularity() == RollupGranularity.DAY)
+            .map(HitSketch::getBucketStart)
+            .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@ContextConfiguration(classes = {ExploreWithMeStatsService.class})
+@Import(HitSketchService.class)
+@DataJpaTest
+@AutoConfigureTestDatabase
+public class HitSketchServiceTest {
+    @Autowired
+    private StatsRepository statsRepository;
+    @Autowired
+    private HitSketchRepository hitSketchRepository;
+    @Autowired
+    private HitSketchService hitSketchService;
+    private LocalDateTime origin;
+
+    @BeforeEach
+    public void createEntitiesAndEnvironment() {
+        this.origin = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+        Random random = new Random(7);
+        List<EndpointHit> hits = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            hits.add(new EndpointHit(null, "main-service", "/events/" + random.nextInt(3),
+                "10.0." + random.nextInt(4) + "." + random.nextInt(250),
+                origin.plusSeconds(random.nextInt(3 * 24 * 60 * 60))));
+        }
+        statsRepository.insertAll(hits);
+        hitSketchService.addHits(hits.subList(0, 1000));
+        hitSketchService.addHits(hits.subList(1000, hits.size()));
+    }
+
+    @Test
+    public void shouldStoreSketchesPerHourAndDayCase() {
+        Set<RollupGranularity> granularities = hitSketchRepository.findAll().stream()
+            .map(HitSketch::getGranularity)
+            .collect(Collectors.toSet());
+        Assertions.assertEquals(Set.of(RollupGranularity.HOUR, RollupGranularity.DAY), granularities);
+    }
+
+    @Test
+    public void shouldGetUniqueStatsCloseToExactCase() {
+        String[] uris = {"/events/0", "/events/2"};
+        double maxError = 3 * HyperLogLog.standardError(12);
+        List<LocalDateTime[]> ranges = List.of(
+            new LocalDateTime[]{origin, origin.plusDays(3)},
+            new LocalDateTime[]{origin.plusMinutes(17), origin.plusMinutes(40)},
+            new LocalDateTime[]{origin.plusHours(3).plusMinutes(5), origin.plusDays(1).plusHours(5)},
+            new LocalDateTime[]{origin.minusDays(10), origin.plusDays(10)});
+        for (LocalDateTime[] range : ranges) {
+            assertClose(statsRepository.getStatsAllDistinct(range[0], range[1]),
+                hitSketchService.getUniqueStats(range[0], range[1], null), maxError);
+            assertClose(statsRepository.getStatsDistinctByUris(range[0], range[1], uris),
+                hitSketchService.getUniqueStats(range[0], range[1], uris), maxError);
+        }
+    }
+
+    private void assertClose(List<ViewStats> exact, List<ViewStats> approx, double maxError) {
+        Map<String, Long> approxByUri = approx.stream()
+            .collect(Collectors.toMap(ViewStats::getUri, ViewStats::getHits));
+        Assertions.assertEquals(exact.size(), approxByUri.size());
+        for (ViewStats stats : exact) {
+            double error = Math.abs(approxByUri.get(stats.getUri()) - stats.getHits()) / (double) stats.getHits();
+            Assertions.assertTrue(error <= maxError, stats + " approx = " + approxByUri.get(stats.getUri()));
+        }
+    }
+}
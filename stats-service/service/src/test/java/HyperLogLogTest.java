@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.HyperLogLog;
+
+public class HyperLogLogTest {
+    @Test
+    public void shouldEstimateWithinErrorBoundCase() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        int distinct = 100000;
+        for (int i = 0; i < distinct; i++) {
+            sketch.offer("10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+            sketch.offer("10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+        }
+        double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+        Assertions.assertTrue(error < 3 * HyperLogLog.standardError(12), "error = " + error);
+    }
+
+    @Test
+    public void shouldEstimateSmallCardinalityCase() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 10; i++) {
+            sketch.offer("111.111.111." + i);
+        }
+        Assertions.assertEquals(10, sketch.estimate());
+        Assertions.assertEquals(0, new HyperLogLog(12).estimate());
+    }
+
+    @Test
+    public void shouldMergeAsUnionCase() {
+        HyperLogLog first = new HyperLogLog(10);
+        HyperLogLog second = new HyperLogLog(10);
+        HyperLogLog union = new HyperLogLog(10);
+        for (int i = 0; i < 5000; i++) {
+            first.offer("ip" + i);
+            union.offer("ip" + i);
+        }
+        for (int i = 2500; i < 8000; i++) {
+            second.offer("ip" + i);
+            union.offer("ip" + i);
+        }
+        Assertions.assertArrayEquals(union.toBytes(), first.merge(second).toBytes());
+    }
+
+    @Test
+    public void shouldFoldToLowerPrecisionCase() {
+        HyperLogLog precise = new HyperLogLog(14);
+        HyperLogLog coarse = new HyperLogLog(10);
+        for (int i = 0; i < 20000; i++) {
+            precise.offer("ip" + i);
+            coarse.offer("ip" + i);
+        }
+        Assertions.assertArrayEquals(coarse.toBytes(), precise.fold(10).toBytes());
+        HyperLogLog merged = new HyperLogLog(14).merge(coarse);
+        Assertions.assertEquals(10, merged.getPrecision());
+        Assertions.assertArrayEquals(coarse.toBytes(), merged.toBytes());
+    }
+
+    @Test
+    public void shouldRestoreFromBytesCase() {
+        HyperLogLog sketch = new HyperLogLog(8);
+        sketch.offer("111.111.111.111");
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+        Assertions.assertEquals(8, restored.getPrecision());
+        Assertions.assertArrayEquals(sketch.toBytes(), restored.toBytes());
+    }
+
+    @Test
+    public void shouldThrowIfPrecisionIsOutOfRangeCase() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(17));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[100]));
+    }
+}
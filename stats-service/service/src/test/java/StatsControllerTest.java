@@ -94,6 +94,33 @@ public class StatsControllerTest {
         verify(statsService, never()).saveHit(hitDto);
     }
 
+    @SneakyThrows
+    @Test
+    public void shouldHitsBatchStandardCase() {
+        doNothing().when(statsService).saveHits(any());
+
+        mockMvc.perform(post("/hits/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(hitDto, hitDto))))
+            .andExpect(status().isCreated());
+
+        verify(statsService, times(1)).saveHits(List.of(hitDto, hitDto));
+    }
+
+    @SneakyThrows
+    @Test
+    public void shouldHitsBatchIfOneEndpointHitDtoIsNotValidCase() {
+        EndpointHitDto notValid = new EndpointHitDto("main-service", null, "111.111.111.111",
+            LocalDateTime.of(2023, 1, 1, 1, 1, 1));
+
+        mockMvc.perform(post("/hits/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(hitDto, notValid))))
+            .andExpect(status().isBadRequest());
+
+        verify(statsService, never()).saveHits(any());
+    }
+
     @SneakyThrows
     @Test
     public void shouldGetStatsStandardCase() {
@@ -113,6 +140,42 @@ public class StatsControllerTest {
         verify(statsService, times(1)).getStats(anyString(), anyString(), any(), any());
     }
 
+    @SneakyThrows
+    @Test
+    public void shouldGetStatsIfUniqueAndApproxAreTrueCase() {
+        when(statsService.getApproxUniqueStats(anyString(), anyString(), any())).thenReturn(List.of(
+            new ViewStats("app", "/events", 3L)));
+
+        mockMvc.perform(get("/stats")
+                .param("start", "2022-01-01 01:01:01")
+                .param("end", "2023-01-01 01:01:01")
+                .param("uris", uri)
+                .param("unique", "true")
+                .param("approx", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].hits").value(3L));
+
+        verify(statsService, times(1)).getApproxUniqueStats("2022-01-01 01:01:01",
+            "2023-01-01 01:01:01", uri);
+        verify(statsService, never()).getStats(anyString(), anyString(), any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    public void shouldGetStatsIfApproxIsTrueAndUniqueIsFalseCase() {
+        when(statsService.getStats(anyString(), anyString(), any(), any())).thenReturn(List.of(new ViewStats("app",
+            "/events", 3L)));
+
+        mockMvc.perform(get("/stats")
+                .param("start", "2022-01-01 01:01:01")
+                .param("end", "2023-01-01 01:01:01")
+                .param("approx", "true"))
+            .andExpect(status().isOk());
+
+        verify(statsService, times(1)).getStats("2022-01-01 01:01:01", "2023-01-01 01:01:01", null, false);
+        verify(statsService, never()).getApproxUniqueStats(anyString(), anyString(), any());
+    }
+
     @SneakyThrows
     @Test
     public void shouldGetStatsIfRequiredParamStartIsNullCase() {
@@ -42,6 +42,18 @@ public class StatsRepositoryTest {
             LocalDateTime.of(2023, 1, 5, 1, 1, 1));
     }
 
+    @Test
+    public void shouldInsertAllStandardCase() {
+        repository.insertAll(List.of(hit1, hit2, hit3, hit4));
+        Assertions.assertEquals(4, repository.count());
+        List<ViewStats> expected = List.of(new ViewStats("main-service", "/events", 3L),
+            new ViewStats("main-service", "/event/1", 1L));
+        List<ViewStats> actual = repository.getStatsAll(
+            LocalDateTime.of(2000, 1, 1, 1, 11),
+            LocalDateTime.of(2050, 1, 1, 1, 11));
+        Assertions.assertEquals(expected, actual);
+    }
+
     @Test
     public void shouldGetStatsDistinctByUrisAllInDatePeriodCase() {
         entityManager.persist(hit1);
@@ -13,12 +13,17 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class StatsServiceTest {
     @Mock
     StatsRepository statsRepository;
+    @Mock
+    HitRollupService hitRollupService;
+    @Mock
+    HitSketchService hitSketchService;
     @InjectMocks
     StatsService statsService;
     EndpointHitDto hitDto;
@@ -58,6 +63,17 @@ public class StatsServiceTest {
         verify(statsRepository, times(1)).save(hitCaptor.capture());
         EndpointHit actual = hitCaptor.getValue();
         Assertions.assertEquals(hit, actual);
+        verify(hitRollupService, times(1)).addHits(List.of(hit));
+        verify(hitSketchService, times(1)).addHits(List.of(hit));
+    }
+
+    @Test
+    public void shouldSaveHitsStandardCase() {
+        statsService.saveHits(List.of(hitDto, hitDto));
+        verify(statsRepository, times(1)).insertAll(List.of(hit, hit));
+        verify(hitRollupService, times(1)).addHits(List.of(hit, hit));
+        verify(hitSketchService, times(1)).addHits(List.of(hit, hit));
+        verify(statsRepository, never()).save(any());
     }
 
     @Test
@@ -77,30 +93,30 @@ public class StatsServiceTest {
     @Test
     public void shouldGetStatsIfUriIsNullAndUniqueIsFalseCase() {
         unique = false;
-        when(statsRepository.getStatsAll(any(), any())).thenReturn(listStats);
+        when(hitRollupService.getStats(any(), any(), any())).thenReturn(listStats);
         statsService.getStats(start, end, null, unique);
-        verify(statsRepository, times(1)).getStatsAll(dateCaptor.capture(),
-            dateCaptor.capture());
+        verify(hitRollupService, times(1)).getStats(dateCaptor.capture(),
+            dateCaptor.capture(), isNull());
         Assertions.assertEquals(dateCaptor.getAllValues().size(), 2);
         Assertions.assertEquals(dateCaptor.getAllValues().get(0), DateTimeParser.parseToDate(start));
         Assertions.assertEquals(dateCaptor.getAllValues().get(1), DateTimeParser.parseToDate(end));
+        verify(statsRepository, never()).getStatsAll(any(), any());
         verify(statsRepository, never()).getStatsAllDistinct(any(), any());
-        verify(statsRepository, never()).getStatsByUris(any(), any(), any());
         verify(statsRepository, never()).getStatsDistinctByUris(any(), any(), any());
     }
 
     @Test
     public void shouldGetStatsIfUriIsNotNullAndUniqueIsFalseCase() {
         unique = false;
-        when(statsRepository.getStatsByUris(any(), any(), any())).thenReturn(listStats);
+        when(hitRollupService.getStats(any(), any(), any())).thenReturn(listStats);
         statsService.getStats(start, end, uri, unique);
-        verify(statsRepository, times(1)).getStatsByUris(dateCaptor.capture(),
+        verify(hitRollupService, times(1)).getStats(dateCaptor.capture(),
             dateCaptor.capture(), uriCaptor.capture());
         Assertions.assertEquals(dateCaptor.getAllValues().size(), 2);
         Assertions.assertEquals(dateCaptor.getAllValues().get(0), DateTimeParser.parseToDate(start));
         Assertions.assertEquals(dateCaptor.getAllValues().get(1), DateTimeParser.parseToDate(end));
         Assertions.assertEquals(uriCaptor.getValue(), uri);
-        verify(statsRepository, never()).getStatsAll(any(), any());
+        verify(statsRepository, never()).getStatsByUris(any(), any(), any());
         verify(statsRepository, never()).getStatsAllDistinct(any(), any());
         verify(statsRepository, never()).getStatsDistinctByUris(any(), any(), any());
     }
@@ -118,5 +134,23 @@ public class StatsServiceTest {
         verify(statsRepository, never()).getStatsAll(any(), any());
         verify(statsRepository, never()).getStatsAllDistinct(any(), any());
         verify(statsRepository, never()).getStatsByUris(any(), any(), any());
+        verify(hitRollupService, never()).getStats(any(), any(), any());
+    }
+
+    @Test
+    public void shouldGetApproxUniqueStatsStandardCase() {
+        when(hitSketchService.getUniqueStats(any(), any(), any())).thenReturn(listStats);
+        List<ViewStats> actual = statsService.getApproxUniqueStats(start, end, uri);
+        Assertions.assertEquals(listStats, actual);
+        verify(hitSketchService, times(1)).getUniqueStats(DateTimeParser.parseToDate(start),
+            DateTimeParser.parseToDate(end), uri);
+        verify(statsRepository, never()).getStatsDistinctByUris(any(), any(), any());
+    }
+
+    @Test
+    public void shouldGetApproxUniqueStatsIfStartIsAfterEndCase() {
+        Assertions.assertThrows(InvalidStartEndTimeExceptionStats.class,
+            () -> statsService.getApproxUniqueStats(end, start, uri));
+        verify(hitSketchService, never()).getUniqueStats(any(), any(), any());
     }
-}
\ No newline at end of file
+}